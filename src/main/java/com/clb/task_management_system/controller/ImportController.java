@@ -0,0 +1,426 @@
+package com.clb.task_management_system.controller;
+
+import com.clb.task_management_system.dao.ImportDAO;
+import com.clb.task_management_system.model.BulkResult;
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ReferenceData;
+import com.clb.task_management_system.model.Task;
+import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.CsvReader;
+import com.clb.task_management_system.util.JsonUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Controller for importing projects and tasks from another tracker.
+ * Input files are CSV with a header row, or NDJSON with one object per line (the formats
+ * written by the task export are accepted). Records are parsed, validated and resolved one
+ * at a time while they are streamed to ImportDAO, so the file is never held in memory.
+ * Users and projects are resolved by ID, email or name against the preloaded ReferenceData.
+ *
+ * <p>Invalid records are skipped and reported with their line number; the valid ones are
+ * imported together, in one transaction. An import with more than MAX_ERRORS invalid records
+ * is aborted and imports nothing.</p>
+ */
+public class ImportController {
+    /**
+     * Supported input formats
+     */
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * Number of invalid records after which an import is aborted
+     */
+    public static final int MAX_ERRORS = 1000;
+
+    private ImportDAO importDAO;
+    private ReferenceDataController referenceDataController;
+
+    public ImportController() {
+        this.importDAO = new ImportDAO();
+        this.referenceDataController = new ReferenceDataController();
+    }
+
+    /**
+     * Imports projects. Columns: name, description, startDate, endDate (yyyy-MM-dd) and
+     * optionally creator (user ID or email). Projects whose name already exists are skipped.
+     *
+     * @param input The file contents
+     * @param format FORMAT_CSV or FORMAT_NDJSON
+     * @param importedBy The ID of the importing user, the creator of projects without one
+     * @return The number of projects imported and the errors of the skipped records
+     */
+    public BulkResult importProjects(Reader input, String format, int importedBy) {
+        BulkResult result = new BulkResult();
+
+        ReferenceData referenceData = referenceDataController.getTaskFormData();
+        Map<String, Integer> usersByKey = indexUsers(referenceData.getUsers());
+        Set<String> names = new HashSet<>();
+        for (Project project : referenceData.getProjects()) {
+            names.add(project.getName().trim().toLowerCase());
+        }
+
+        try {
+            RecordReader reader = open(input, format);
+            int imported = importDAO.importProjects(() -> {
+                Map<String, String> record;
+                while ((record = reader.next(result)) != null) {
+                    int line = reader.getLineNumber();
+
+                    String name = field(record, "name", "projectname", "project.name");
+                    Date startDate;
+                    Date endDate;
+                    try {
+                        startDate = parseDate(field(record, "startdate"));
+                        endDate = parseDate(field(record, "enddate"));
+                    } catch (IllegalArgumentException e) {
+                        addError(result, line, e.getMessage());
+                        continue;
+                    }
+
+                    if (name == null || name.length() < 2 || name.length() > 100) {
+                        addError(result, line, "Project name must be between 2 and 100 characters");
+                        continue;
+                    }
+                    if (startDate != null && endDate != null && startDate.after(endDate)) {
+                        addError(result, line, "End date must be after start date");
+                        continue;
+                    }
+                    if (!names.add(name.toLowerCase())) {
+                        addError(result, line, "A project named " + name + " already exists");
+                        continue;
+                    }
+
+                    String creator = field(record, "creator", "creatoremail", "creator.email", "creatorid", "creator.id");
+                    Integer createdBy = creator != null ? usersByKey.get(creator.toLowerCase()) : Integer.valueOf(importedBy);
+                    if (createdBy == null) {
+                        addError(result, line, "Unknown creator: " + creator);
+                        continue;
+                    }
+
+                    Project project = new Project();
+                    project.setName(name);
+                    project.setDescription(field(record, "description"));
+                    project.setStartDate(startDate);
+                    project.setEndDate(endDate);
+                    project.setCreatedBy(createdBy);
+                    return project;
+                }
+                return null;
+            });
+            result.setSuccessCount(imported);
+            ProjectCache.invalidate();
+        } catch (ImportAbortedException e) {
+            result.setGeneralError(e.getMessage());
+        } catch (IOException e) {
+            result.setGeneralError("The import failed; nothing was imported: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.setGeneralError("The import failed; no projects were imported: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    /**
+     * Imports tasks with their initial status log. Columns: title, description, dueDate
+     * (yyyy-MM-dd), assignee (user ID or email), and optionally status (default Pending),
+     * project (ID or name), creator (user ID or email) and createdAt (ISO-8601 instant or
+     * yyyy-MM-dd HH:mm:ss). Import projects first so that tasks can refer to them by name.
+     *
+     * @param input The file contents
+     * @param format FORMAT_CSV or FORMAT_NDJSON
+     * @param importedBy The ID of the importing user, the creator of tasks without one
+     * @return The number of tasks imported and the errors of the skipped records
+     */
+    public BulkResult importTasks(Reader input, String format, int importedBy) {
+        BulkResult result = new BulkResult();
+
+        ReferenceData referenceData = referenceDataController.getTaskFormData();
+        Map<String, Integer> usersByKey = indexUsers(referenceData.getUsers());
+        Map<String, Integer> projectsByKey = new HashMap<>();
+        Set<String> ambiguousNames = new HashSet<>();
+        for (Project project : referenceData.getProjects()) {
+            projectsByKey.put(String.valueOf(project.getId()), project.getId());
+            String name = project.getName().trim().toLowerCase();
+            if (projectsByKey.put(name, project.getId()) != null) {
+                ambiguousNames.add(name);
+            }
+        }
+
+        try {
+            RecordReader reader = open(input, format);
+            int imported = importDAO.importTasks(() -> {
+                Map<String, String> record;
+                while ((record = reader.next(result)) != null) {
+                    int line = reader.getLineNumber();
+
+                    String title = field(record, "title");
+                    String description = field(record, "description");
+                    String status = field(record, "status");
+                    Date dueDate;
+                    Timestamp createdAt;
+                    try {
+                        dueDate = parseDate(field(record, "duedate"));
+                        createdAt = parseTimestamp(field(record, "createdat"));
+                    } catch (IllegalArgumentException e) {
+                        addError(result, line, e.getMessage());
+                        continue;
+                    }
+
+                    if (title == null || title.length() < 2 || title.length() > 100) {
+                        addError(result, line, "Task title must be between 2 and 100 characters");
+                        continue;
+                    }
+                    if (description != null && description.length() > 500) {
+                        addError(result, line, "Task description cannot exceed 500 characters");
+                        continue;
+                    }
+                    if (dueDate == null) {
+                        addError(result, line, "Due date is required");
+                        continue;
+                    }
+                    if (status == null) {
+                        status = TaskController.STATUS_TODO;
+                    } else if (!TaskController.STATUS_TODO.equals(status)
+                            && !TaskController.STATUS_IN_PROGRESS.equals(status)
+                            && !TaskController.STATUS_DONE.equals(status)) {
+                        addError(result, line, "Invalid status: " + status);
+                        continue;
+                    }
+
+                    String assignee = field(record, "assignee", "assigneeemail", "assignee.email", "assigneeid", "assignee.id");
+                    Integer assignedTo = assignee != null ? usersByKey.get(assignee.toLowerCase()) : null;
+                    if (assignedTo == null) {
+                        addError(result, line, "Unknown assignee: " + (assignee != null ? assignee : "(empty)"));
+                        continue;
+                    }
+
+                    String creator = field(record, "creator", "creatoremail", "creator.email", "creatorid", "creator.id");
+                    Integer createdBy = creator != null ? usersByKey.get(creator.toLowerCase()) : Integer.valueOf(importedBy);
+                    if (createdBy == null) {
+                        addError(result, line, "Unknown creator: " + creator);
+                        continue;
+                    }
+
+                    int projectId = 0;
+                    String project = field(record, "project", "projectname", "project.name", "projectid", "project.id");
+                    if (project != null) {
+                        String key = project.toLowerCase();
+                        if (ambiguousNames.contains(key)) {
+                            addError(result, line, "Several projects are named " + project + "; use the project ID");
+                            continue;
+                        }
+                        Integer resolved = projectsByKey.get(key);
+                        if (resolved == null) {
+                            addError(result, line, "Unknown project: " + project);
+                            continue;
+                        }
+                        projectId = resolved;
+                    }
+
+                    Task task = new Task();
+                    task.setTitle(title);
+                    task.setDescription(description);
+                    task.setDueDate(dueDate);
+                    task.setStatus(status);
+                    task.setAssignedTo(assignedTo);
+                    task.setProjectId(projectId);
+                    task.setCreatedBy(createdBy);
+                    task.setCreatedAt(createdAt);
+                    return task;
+                }
+                return null;
+            });
+            result.setSuccessCount(imported);
+            // Project task counts changed in bulk; reload them rather than adjusting one by one
+            ProjectCache.invalidate();
+        } catch (ImportAbortedException e) {
+            result.setGeneralError(e.getMessage());
+        } catch (IOException e) {
+            result.setGeneralError("The import failed; nothing was imported: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.setGeneralError("The import failed; no tasks were imported: " + e.getMessage());
+        }
+
+        return result;
+    }
+
+    private static Map<String, Integer> indexUsers(List<User> users) {
+        Map<String, Integer> usersByKey = new HashMap<>();
+        for (User user : users) {
+            usersByKey.put(String.valueOf(user.getId()), user.getId());
+            usersByKey.put(user.getEmail().toLowerCase(), user.getId());
+        }
+        return usersByKey;
+    }
+
+    /**
+     * Records an invalid record, aborting the import once there are too many.
+     */
+    private static void addError(BulkResult result, int line, String message) throws ImportAbortedException {
+        result.addRowError(line, message);
+        if (result.getErrorCount() > MAX_ERRORS) {
+            throw new ImportAbortedException("More than " + MAX_ERRORS + " invalid records; nothing was imported");
+        }
+    }
+
+    /**
+     * Gets the first non-empty value among alternative column names.
+     */
+    private static String field(Map<String, String> record, String... names) {
+        for (String name : names) {
+            String value = record.get(name);
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+        }
+        return null;
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Date.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+
+    private static Timestamp parseTimestamp(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Timestamp.from(Instant.parse(value));
+        } catch (DateTimeParseException e) {
+            try {
+                return Timestamp.valueOf(value);
+            } catch (IllegalArgumentException e2) {
+                throw new IllegalArgumentException("Invalid timestamp: " + value);
+            }
+        }
+    }
+
+    private static RecordReader open(Reader input, String format) throws IOException {
+        if (FORMAT_NDJSON.equals(format)) {
+            return new NdjsonRecordReader(input);
+        }
+        return new CsvRecordReader(input);
+    }
+
+    /**
+     * Reads the records of an import file as maps from lower-case column name to value.
+     */
+    private interface RecordReader {
+        /**
+         * Gets the next record, reporting records that cannot be parsed to the result.
+         *
+         * @return The record, or null at the end of the input
+         */
+        Map<String, String> next(BulkResult result) throws IOException;
+
+        /**
+         * Gets the line on which the last record started.
+         */
+        int getLineNumber();
+    }
+
+    private static final class CsvRecordReader implements RecordReader {
+        private final CsvReader reader;
+        private final List<String> header;
+
+        private CsvRecordReader(Reader input) throws IOException {
+            this.reader = new CsvReader(input instanceof BufferedReader ? input : new BufferedReader(input));
+            this.header = reader.readRecord();
+            if (header == null) {
+                throw new ImportAbortedException("The import file is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                header.set(i, header.get(i).trim().toLowerCase());
+            }
+        }
+
+        @Override
+        public Map<String, String> next(BulkResult result) throws IOException {
+            List<String> values;
+            while ((values = reader.readRecord()) != null) {
+                if (values.size() == 1 && values.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                Map<String, String> record = new HashMap<>();
+                for (int i = 0; i < header.size() && i < values.size(); i++) {
+                    record.put(header.get(i), values.get(i));
+                }
+                return record;
+            }
+            return null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return reader.getLineNumber();
+        }
+    }
+
+    private static final class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        private NdjsonRecordReader(Reader input) {
+            this.reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
+        }
+
+        @Override
+        public Map<String, String> next(BulkResult result) throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    Map<String, String> record = new HashMap<>();
+                    for (Map.Entry<String, String> entry : JsonUtil.parseObject(line).entrySet()) {
+                        record.put(entry.getKey().toLowerCase(), entry.getValue());
+                    }
+                    return record;
+                } catch (IllegalArgumentException e) {
+                    addError(result, lineNumber, "Invalid JSON: " + e.getMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public int getLineNumber() {
+            return lineNumber;
+        }
+    }
+
+    /**
+     * Stops an import that cannot succeed; nothing is imported.
+     */
+    private static final class ImportAbortedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private ImportAbortedException(String message) {
+            super(message);
+        }
+    }
+}
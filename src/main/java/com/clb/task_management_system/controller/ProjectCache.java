@@ -0,0 +1,170 @@
+package com.clb.task_management_system.controller;
+
+import com.clb.task_management_system.dao.ProjectDAO;
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory copy of all projects, shared by ProjectController and TaskController.
+ * The project table is small and read on every task form and task list, so it is loaded
+ * whole with one query and kept as an immutable snapshot ordered by name.
+ *
+ * <p>Task counts live next to the snapshot in per-project counters, which TaskController
+ * adjusts in place when a task is created, moved to another project or deleted; project
+ * writes through ProjectController drop the snapshot. Changes made by other application
+ * instances, and a task write that overlaps a reload, become visible when the snapshot
+ * expires (PROJECT_CACHE_TTL_SECONDS). Callers always receive copies.</p>
+ */
+final class ProjectCache {
+
+    private static final long TTL_MILLIS = AppConfig.getLong("PROJECT_CACHE_TTL_SECONDS", 300) * 1000L;
+
+    private static final ProjectDAO PROJECT_DAO = new ProjectDAO();
+
+    /** The current snapshot, or null when it has to be loaded again. Never modified once published. */
+    private static volatile Snapshot snapshot;
+
+    /** Incremented on every project write, so a load that overlapped one is not published. */
+    private static long generation;
+
+    /** Incremented when projects are created, updated or deleted; task count changes do not count. */
+    private static volatile long version;
+
+    private ProjectCache() {
+    }
+
+    /**
+     * Gets all projects, ordered by name.
+     */
+    static List<Project> getAll() {
+        List<Project> projects = new ArrayList<>();
+        Snapshot current = current();
+        for (Project project : current.projects.values()) {
+            projects.add(current.copy(project));
+        }
+        return projects;
+    }
+
+    /**
+     * Gets a project, falling back to the database for one created since the snapshot was taken.
+     *
+     * @param projectId The project ID
+     * @return The project, or null if it does not exist
+     */
+    static Project get(int projectId) {
+        Snapshot current = current();
+        Project project = current.projects.get(projectId);
+        if (project != null) {
+            return current.copy(project);
+        }
+        return PROJECT_DAO.getProjectById(projectId);
+    }
+
+    /**
+     * Gets the projects created by a user, ordered by name.
+     */
+    static List<Project> getByCreator(int userId) {
+        List<Project> projects = new ArrayList<>();
+        Snapshot current = current();
+        for (Project project : current.projects.values()) {
+            if (project.getCreatedBy() == userId) {
+                projects.add(current.copy(project));
+            }
+        }
+        return projects;
+    }
+
+    /**
+     * Adds to the cached task count of a project after a committed task write.
+     *
+     * @param projectId The project ID; non-positive IDs (no project) are ignored
+     * @param delta The change in the number of tasks
+     */
+    static void adjustTaskCount(int projectId, int delta) {
+        Snapshot current = snapshot;
+        if (projectId <= 0 || current == null) {
+            return;
+        }
+        AtomicInteger taskCount = current.taskCounts.get(projectId);
+        if (taskCount != null) {
+            taskCount.updateAndGet(count -> Math.max(0, count + delta));
+        }
+    }
+
+    /**
+     * Drops the snapshot; the next read loads it again.
+     */
+    static synchronized void invalidate() {
+        generation++;
+        version++;
+        snapshot = null;
+    }
+
+    /**
+     * Gets a number that changes whenever a project is created, updated or deleted through this
+     * application instance, for caches derived from the project list.
+     */
+    static long getVersion() {
+        return version;
+    }
+
+    private static Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && System.currentTimeMillis() - current.loadedAt < TTL_MILLIS) {
+            return current;
+        }
+
+        long loadGeneration;
+        synchronized (ProjectCache.class) {
+            loadGeneration = generation;
+        }
+
+        Map<Integer, Project> projects = new LinkedHashMap<>();
+        for (Project project : PROJECT_DAO.getAllProjects()) {
+            projects.put(project.getId(), project);
+        }
+        Snapshot loaded = new Snapshot(projects, System.currentTimeMillis());
+
+        synchronized (ProjectCache.class) {
+            if (generation == loadGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private static final class Snapshot {
+        private final Map<Integer, Project> projects;
+        /** The current task count of each project in the snapshot, adjusted in place. */
+        private final Map<Integer, AtomicInteger> taskCounts = new ConcurrentHashMap<>();
+        private final long loadedAt;
+
+        private Snapshot(Map<Integer, Project> projects, long loadedAt) {
+            this.projects = Collections.unmodifiableMap(projects);
+            this.loadedAt = loadedAt;
+            for (Project project : projects.values()) {
+                taskCounts.put(project.getId(), new AtomicInteger(project.getTaskCount()));
+            }
+        }
+
+        /**
+         * Copies a project of this snapshot with its current task count.
+         */
+        private Project copy(Project project) {
+            Project copy = new Project(project.getId(), project.getName(), project.getDescription(),
+                    project.getStartDate(), project.getEndDate(), project.getCreatedBy());
+            copy.setCreator(project.getCreator());
+            copy.setCreatedAt(project.getCreatedAt());
+            copy.setTaskCount(taskCounts.get(project.getId()).get());
+            return copy;
+        }
+    }
+}
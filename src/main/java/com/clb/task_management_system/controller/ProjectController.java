@@ -2,6 +2,7 @@ package com.clb.task_management_system.controller;
 
 import com.clb.task_management_system.dao.ProjectDAO;
 import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ProjectDeleteResult;
 
 import java.sql.Date;
 import java.sql.SQLException;
@@ -13,6 +14,7 @@ import java.util.Map;
  * Controller class for Project-related operations.
  * Part of the Controller component in MVC architecture.
  * Acts as an intermediary between the View (Servlets/JSP) and the Model (DAO/Model classes).
+ * Project reads are served from ProjectCache; project writes invalidate it.
  */
 public class ProjectController {
     private ProjectDAO projectDAO;
@@ -47,6 +49,7 @@ public class ProjectController {
             project.setCreatedBy(createdBy);
             
             boolean success = projectDAO.createProject(project);
+            ProjectCache.invalidate();
             if (!success) {
                 errors.put("general", "Failed to create project");
             }
@@ -66,7 +69,7 @@ public class ProjectController {
      */
     public Project getProjectById(int projectId) {
         try {
-            return projectDAO.getProjectById(projectId);
+            return ProjectCache.get(projectId);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -80,7 +83,7 @@ public class ProjectController {
      */
     public List<Project> getAllProjects() {
         try {
-            return projectDAO.getAllProjects();
+            return ProjectCache.getAll();
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -95,7 +98,7 @@ public class ProjectController {
      */
     public List<Project> getProjectsByCreator(int userId) {
         try {
-            return projectDAO.getProjectsByCreator(userId);
+            return ProjectCache.getByCreator(userId);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -122,6 +125,7 @@ public class ProjectController {
         
         try {
             boolean success = projectDAO.updateProject(project);
+            ProjectCache.invalidate();
             if (!success) {
                 errors.put("general", "Failed to update project");
             }
@@ -134,17 +138,24 @@ public class ProjectController {
     }
     
     /**
-     * Deletes a project by its ID.
+     * Deletes a project by its ID, along with its tasks or leaving them without a project.
      * 
      * @param projectId The ID of the project to delete
-     * @return true if the deletion was successful, false otherwise
+     * @param handling What happens to the project's tasks
+     * @return The number of affected rows, or null if the deletion failed
      */
-    public boolean deleteProject(int projectId) {
+    public ProjectDeleteResult deleteProject(int projectId, ProjectDeleteResult.TaskHandling handling) {
         try {
-            return projectDAO.deleteProject(projectId);
+            ProjectDeleteResult result = projectDAO.deleteProject(projectId, handling);
+            ProjectCache.invalidate();
+            System.out.println("ProjectController: Deleted project " + projectId + " (" + result.getTasksDeleted() +
+                    " tasks and " + result.getLogsDeleted() + " logs deleted, " + result.getTasksDetached() + " tasks detached)");
+            return result;
         } catch (Exception e) {
             e.printStackTrace();
-            return false;
+            // Chunks committed before the failure are gone from the cached task counts
+            ProjectCache.invalidate();
+            return null;
         }
     }
     
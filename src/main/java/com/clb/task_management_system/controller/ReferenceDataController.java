@@ -0,0 +1,98 @@
+package com.clb.task_management_system.controller;
+
+import com.clb.task_management_system.dao.UserDAO;
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ReferenceData;
+import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller for the data behind the task form's user and project pickers.
+ * The data is kept as one shared, immutable ReferenceData snapshot, rebuilt only when
+ * UserDAO or ProjectCache report a change (or after REFERENCE_DATA_TTL_SECONDS, to pick up
+ * changes made by other application instances). Opening a task form does no database work
+ * while the snapshot is current.
+ */
+public class ReferenceDataController {
+
+    private static final long TTL_MILLIS = AppConfig.getLong("REFERENCE_DATA_TTL_SECONDS", 300) * 1000L;
+
+    private static volatile Snapshot snapshot;
+    private static long lastVersion;
+
+    private final UserController userController;
+
+    public ReferenceDataController() {
+        this.userController = new UserController();
+    }
+
+    /**
+     * Gets the users and projects for the task form.
+     *
+     * @return The current snapshot
+     */
+    public ReferenceData getTaskFormData() {
+        Snapshot current = snapshot;
+        if (current != null && current.isCurrent()) {
+            return current.data;
+        }
+        return rebuild();
+    }
+
+    private ReferenceData rebuild() {
+        synchronized (ReferenceDataController.class) {
+            Snapshot current = snapshot;
+            if (current != null && current.isCurrent()) {
+                return current.data;
+            }
+
+            // Read the versions first: a change made during the rebuild leaves the snapshot stale, not wrong
+            long userVersion = UserDAO.getVersion();
+            long projectVersion = ProjectCache.getVersion();
+
+            List<User> users = new ArrayList<>();
+            List<User> allUsers = userController.getAllUsers();
+            if (allUsers == null) {
+                // Keep serving the previous snapshot rather than caching an empty picker
+                return current != null ? current.data : new ReferenceData(0, users, new ArrayList<>());
+            }
+            for (User user : allUsers) {
+                users.add(new User(user.getId(), user.getFirstName(), user.getLastName(),
+                        user.getEmail(), null, user.getRole()));
+            }
+
+            List<Project> projects = new ArrayList<>();
+            for (Project project : ProjectCache.getAll()) {
+                projects.add(new Project(project.getId(), project.getName(), null,
+                        project.getStartDate(), project.getEndDate(), project.getCreatedBy()));
+            }
+
+            ReferenceData data = new ReferenceData(++lastVersion, users, projects);
+            snapshot = new Snapshot(data, userVersion, projectVersion, System.currentTimeMillis());
+            return data;
+        }
+    }
+
+    private static final class Snapshot {
+        private final ReferenceData data;
+        private final long userVersion;
+        private final long projectVersion;
+        private final long builtAt;
+
+        private Snapshot(ReferenceData data, long userVersion, long projectVersion, long builtAt) {
+            this.data = data;
+            this.userVersion = userVersion;
+            this.projectVersion = projectVersion;
+            this.builtAt = builtAt;
+        }
+
+        private boolean isCurrent() {
+            return userVersion == UserDAO.getVersion()
+                    && projectVersion == ProjectCache.getVersion()
+                    && System.currentTimeMillis() - builtAt < TTL_MILLIS;
+        }
+    }
+}
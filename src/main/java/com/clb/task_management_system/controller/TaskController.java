@@ -1,16 +1,35 @@
 package com.clb.task_management_system.controller;
 
+import com.clb.task_management_system.dao.TaskCountDAO;
 import com.clb.task_management_system.dao.TaskDAO;
+import com.clb.task_management_system.dao.TaskUpdateResult;
 import com.clb.task_management_system.dao.TaskLogDAO;
+import com.clb.task_management_system.dao.TaskLogWriter;
+import com.clb.task_management_system.model.BulkResult;
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ReferenceData;
 import com.clb.task_management_system.model.Task;
 import com.clb.task_management_system.model.TaskLog;
+import com.clb.task_management_system.model.TaskLogPage;
+import com.clb.task_management_system.model.TaskPage;
+import com.clb.task_management_system.model.TaskQuery;
+import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.CsvReader;
+import com.clb.task_management_system.util.CsvWriter;
+import com.clb.task_management_system.util.JsonUtil;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.sql.Date;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Controller class for Task-related operations.
@@ -25,12 +44,27 @@ public class TaskController {
     public static final String STATUS_IN_PROGRESS = "In Progress";
     public static final String STATUS_DONE = "Completed";
     
+    /**
+     * Maximum number of tasks accepted by one bulk creation
+     */
+    public static final int MAX_BULK_ROWS = 50000;
+    
+    /**
+     * Supported export formats
+     */
+    public static final String EXPORT_CSV = "csv";
+    public static final String EXPORT_NDJSON = "ndjson";
+    
     private TaskDAO taskDAO;
     private TaskLogDAO taskLogDAO;
+    private TaskCountDAO taskCountDAO;
+    private ReferenceDataController referenceDataController;
     
     public TaskController() {
         this.taskDAO = new TaskDAO();
         this.taskLogDAO = new TaskLogDAO();
+        this.taskCountDAO = new TaskCountDAO();
+        this.referenceDataController = new ReferenceDataController();
     }
     
     /**
@@ -54,23 +88,12 @@ public class TaskController {
             task.setProjectId(projectId != null ? projectId : 0);
             task.setCreatedBy(createdBy);
             
-            Timestamp now = new Timestamp(System.currentTimeMillis());
-            task.setCreatedAt(now);
-            task.setUpdatedAt(now);
-            
+            // Inserts the task and its initial log in one statement
             int taskId = taskDAO.createTask(task);
             
             if (taskId > 0) {
                 task.setId(taskId);
-                // Create initial task log
-                TaskLog log = new TaskLog();
-                log.setTaskId(taskId);
-                log.setOldStatus(null);
-                log.setNewStatus(STATUS_TODO);
-                log.setChangedAt(now);
-                log.setChangedBy(createdBy);
-                
-                taskLogDAO.createTaskLog(log);
+                ProjectCache.adjustTaskCount(task.getProjectId(), 1);
             } else {
                 errors.put("general", "Failed to create task");
             }
@@ -82,16 +105,158 @@ public class TaskController {
         return errors;
     }
     
+    /**
+     * Creates tasks from CSV text, e.g. a project template exported from a spreadsheet.
+     * The first record must be a header naming the columns title, description, dueDate
+     * (yyyy-MM-dd), assignee (user ID or email) and optionally project (ID or name); column
+     * order and case do not matter. Every row is validated like a single task; the valid
+     * rows are then inserted together with their initial logs, and each invalid row is
+     * reported with its line number.
+     * 
+     * @param csv The CSV input
+     * @param createdBy The ID of the user creating the tasks
+     * @return The number of tasks created and the errors of the rejected rows
+     */
+    public BulkResult createTasksFromCsv(Reader csv, int createdBy) {
+        BulkResult result = new BulkResult();
+        
+        try {
+            CsvReader reader = new CsvReader(csv);
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                result.setGeneralError("The CSV input is empty");
+                return result;
+            }
+            
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(), i);
+            }
+            for (String required : new String[] {"title", "description", "duedate", "assignee"}) {
+                if (!columns.containsKey(required)) {
+                    result.setGeneralError("Missing column: " + required);
+                    return result;
+                }
+            }
+            
+            // Resolve assignees and projects against the shared reference data instead of per-row queries
+            ReferenceData referenceData = referenceDataController.getTaskFormData();
+            Map<String, Integer> usersByKey = new HashMap<>();
+            for (User user : referenceData.getUsers()) {
+                usersByKey.put(String.valueOf(user.getId()), user.getId());
+                usersByKey.put(user.getEmail().toLowerCase(), user.getId());
+            }
+            Map<String, Integer> projectsByKey = new HashMap<>();
+            Set<String> ambiguousNames = new HashSet<>();
+            for (Project project : referenceData.getProjects()) {
+                projectsByKey.put(String.valueOf(project.getId()), project.getId());
+                String name = project.getName().trim().toLowerCase();
+                if (projectsByKey.put(name, project.getId()) != null) {
+                    ambiguousNames.add(name);
+                }
+            }
+            
+            List<Task> tasks = new ArrayList<>();
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                int line = reader.getLineNumber();
+                if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                    continue;
+                }
+                if (tasks.size() + result.getErrorCount() >= MAX_BULK_ROWS) {
+                    result.setGeneralError("Too many rows; at most " + MAX_BULK_ROWS + " tasks can be created at once");
+                    return result;
+                }
+                
+                String title = field(record, columns.get("title"));
+                String description = field(record, columns.get("description"));
+                String dueDateStr = field(record, columns.get("duedate"));
+                String assignee = field(record, columns.get("assignee"));
+                String project = columns.containsKey("project") ? field(record, columns.get("project")) : null;
+                
+                Date dueDate = null;
+                if (dueDateStr != null) {
+                    try {
+                        dueDate = Date.valueOf(dueDateStr);
+                    } catch (IllegalArgumentException e) {
+                        result.addRowError(line, "Invalid due date: " + dueDateStr);
+                        continue;
+                    }
+                }
+                
+                Map<String, String> errors = validateTaskInput(title, description, dueDate);
+                if (!errors.isEmpty()) {
+                    result.addRowError(line, String.join("; ", errors.values()));
+                    continue;
+                }
+                
+                Integer assignedTo = assignee != null ? usersByKey.get(assignee.toLowerCase()) : null;
+                if (assignedTo == null) {
+                    result.addRowError(line, "Unknown assignee: " + (assignee != null ? assignee : "(empty)"));
+                    continue;
+                }
+                
+                int projectId = 0;
+                if (project != null) {
+                    String key = project.toLowerCase();
+                    if (ambiguousNames.contains(key)) {
+                        result.addRowError(line, "Several projects are named " + project + "; use the project ID");
+                        continue;
+                    }
+                    Integer resolved = projectsByKey.get(key);
+                    if (resolved == null) {
+                        result.addRowError(line, "Unknown project: " + project);
+                        continue;
+                    }
+                    projectId = resolved;
+                }
+                
+                Task task = new Task();
+                task.setTitle(title);
+                task.setDescription(description);
+                task.setDueDate(dueDate);
+                task.setStatus(STATUS_TODO);
+                task.setAssignedTo(assignedTo);
+                task.setProjectId(projectId);
+                task.setCreatedBy(createdBy);
+                tasks.add(task);
+            }
+            
+            taskDAO.createTasks(tasks);
+            result.setSuccessCount(tasks.size());
+            
+            Map<Integer, Integer> tasksPerProject = new HashMap<>();
+            for (Task task : tasks) {
+                tasksPerProject.merge(task.getProjectId(), 1, Integer::sum);
+            }
+            for (Map.Entry<Integer, Integer> entry : tasksPerProject.entrySet()) {
+                ProjectCache.adjustTaskCount(entry.getKey(), entry.getValue());
+            }
+        } catch (IOException e) {
+            result.setGeneralError("Could not read the CSV input: " + e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.setSuccessCount(0);
+            result.setGeneralError("An error occurred during task creation; no tasks were created: " + e.getMessage());
+        }
+        
+        return result;
+    }
+    
+    private static String field(List<String> record, int index) {
+        if (index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
     /**
      * Gets a task by its ID.
      */
     public Task getTaskById(int taskId) {
         try {
-            Task task = taskDAO.getTaskById(taskId);
-            if (task != null) {
-                taskDAO.loadRelatedEntities(task);
-            }
-            return task;
+            return taskDAO.getTaskById(taskId);
         } catch (Exception e) {
             e.printStackTrace();
             return null;
@@ -103,11 +268,7 @@ public class TaskController {
      */
     public List<Task> getAllTasks() {
         try {
-            List<Task> tasks = taskDAO.getAllTasks();
-            for (Task task : tasks) {
-                taskDAO.loadRelatedEntities(task);
-            }
-            return tasks;
+            return taskDAO.getAllTasks();
         } catch (Exception e) {
             e.printStackTrace();
             return new ArrayList<>();
@@ -119,11 +280,7 @@ public class TaskController {
      */
     public List<Task> getTasksByAssignee(int userId) {
         try {
-            List<Task> tasks = taskDAO.getTasksByAssignee(userId);
-            for (Task task : tasks) {
-                taskDAO.loadRelatedEntities(task);
-            }
-            return tasks;
+            return taskDAO.getTasksByAssignee(userId);
         } catch (Exception e) {
             e.printStackTrace();
             return new ArrayList<>();
@@ -135,11 +292,7 @@ public class TaskController {
      */
     public List<Task> getTasksByCreator(int userId) {
         try {
-            List<Task> tasks = taskDAO.getTasksByCreator(userId);
-            for (Task task : tasks) {
-                taskDAO.loadRelatedEntities(task);
-            }
-            return tasks;
+            return taskDAO.getTasksByCreator(userId);
         } catch (Exception e) {
             e.printStackTrace();
             return new ArrayList<>();
@@ -151,17 +304,156 @@ public class TaskController {
      */
     public List<Task> getTasksByProject(int projectId) {
         try {
-            List<Task> tasks = taskDAO.getTasksByProject(projectId);
-            for (Task task : tasks) {
-                taskDAO.loadRelatedEntities(task);
-            }
-            return tasks;
+            return taskDAO.getTasksByProject(projectId);
         } catch (Exception e) {
             e.printStackTrace();
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Gets one page of the tasks matching a query, newest first.
+     * 
+     * @param query The filters, cursor and page size
+     * @return The page of tasks
+     */
+    public TaskPage findTasks(TaskQuery query) {
+        try {
+            return taskDAO.findTasks(query);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new TaskPage(new ArrayList<>(), null);
+        }
+    }
+    
+    /**
+     * Gets one page of the tasks matching a query that a user is assigned to or has created, newest first.
+     * Answered by a single query; see TaskDAO.findTasks.
+     */
+    public TaskPage findTasksForUser(int userId, TaskQuery query) {
+        TaskQuery visibleQuery = new TaskQuery(query);
+        visibleQuery.setVisibleToUserId(userId);
+        return findTasks(visibleQuery);
+    }
+    
+    /**
+     * Writes every task matching a query to a writer as CSV (with a header row) or as
+     * newline-delimited JSON, one object per task. Tasks are streamed from the database
+     * as they are written, so exports of any size run in constant memory.
+     * 
+     * @param query The filters to apply
+     * @param format EXPORT_CSV or EXPORT_NDJSON
+     * @param out The destination
+     * @return The number of tasks written, or -1 if reading the tasks failed
+     * @throws IOException If writing to the destination fails
+     */
+    public int exportTasks(TaskQuery query, String format, Writer out) throws IOException {
+        try {
+            if (EXPORT_NDJSON.equals(format)) {
+                return taskDAO.exportTasks(query, task -> writeJsonTask(task, out));
+            }
+            CsvWriter csv = new CsvWriter(out);
+            csv.writeRecord("id", "title", "description", "status", "dueDate", "createdAt", "updatedAt",
+                    "assigneeId", "assigneeName", "assigneeEmail", "projectId", "projectName",
+                    "creatorId", "creatorName", "creatorEmail", "archived");
+            return taskDAO.exportTasks(query, task -> csv.writeRecord(
+                    String.valueOf(task.getId()),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getStatus(),
+                    format(task.getDueDate()),
+                    format(task.getCreatedAt()),
+                    format(task.getUpdatedAt()),
+                    task.getAssignee() != null ? String.valueOf(task.getAssignee().getId()) : null,
+                    task.getAssignee() != null ? task.getAssignee().getFullName() : null,
+                    task.getAssignee() != null ? task.getAssignee().getEmail() : null,
+                    task.getProject() != null ? String.valueOf(task.getProject().getId()) : null,
+                    task.getProject() != null ? task.getProject().getName() : null,
+                    task.getCreator() != null ? String.valueOf(task.getCreator().getId()) : null,
+                    task.getCreator() != null ? task.getCreator().getFullName() : null,
+                    task.getCreator() != null ? task.getCreator().getEmail() : null,
+                    String.valueOf(task.isArchived())));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+    
+    private static void writeJsonTask(Task task, Writer out) throws IOException {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"id\":").append(task.getId())
+            .append(",\"title\":").append(JsonUtil.quote(task.getTitle()))
+            .append(",\"description\":").append(JsonUtil.quote(task.getDescription()))
+            .append(",\"status\":").append(JsonUtil.quote(task.getStatus()))
+            .append(",\"dueDate\":").append(JsonUtil.quote(format(task.getDueDate())))
+            .append(",\"createdAt\":").append(JsonUtil.quote(format(task.getCreatedAt())))
+            .append(",\"updatedAt\":").append(JsonUtil.quote(format(task.getUpdatedAt())))
+            .append(",\"assignee\":").append(jsonUser(task.getAssignee()))
+            .append(",\"project\":");
+        Project project = task.getProject();
+        if (project != null) {
+            json.append("{\"id\":").append(project.getId())
+                .append(",\"name\":").append(JsonUtil.quote(project.getName())).append('}');
+        } else {
+            json.append("null");
+        }
+        json.append(",\"creator\":").append(jsonUser(task.getCreator()))
+            .append(",\"archived\":").append(task.isArchived()).append("}\n");
+        out.write(json.toString());
+    }
+    
+    private static String jsonUser(User user) {
+        if (user == null) {
+            return "null";
+        }
+        return "{\"id\":" + user.getId() +
+               ",\"name\":" + JsonUtil.quote(user.getFullName()) +
+               ",\"email\":" + JsonUtil.quote(user.getEmail()) + "}";
+    }
+    
+    /**
+     * Formats a date as yyyy-MM-dd and a timestamp as an ISO-8601 instant.
+     */
+    private static String format(java.util.Date value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toInstant().toString();
+        }
+        return value.toString();
+    }
+    
+    /**
+     * Counts the tasks matching a query per status, computed by the database.
+     * 
+     * @param query The filters to apply
+     * @return A map from status to number of tasks; statuses without tasks are absent
+     */
+    public Map<String, Integer> countTasksByStatus(TaskQuery query) {
+        try {
+            return taskDAO.countTasksByStatus(query);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new HashMap<>();
+        }
+    }
+    
+    /**
+     * Gets the number of tasks assigned to a user per status, read from the maintained counters.
+     * 
+     * @param userId The assignee's user ID
+     * @return A map from status to number of tasks; statuses without tasks may be absent
+     */
+    public Map<String, Integer> getAssignedTaskCounts(int userId) {
+        try {
+            return taskCountDAO.getUserTaskCounts(userId);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new HashMap<>();
+        }
+    }
+    
     /**
      * Updates a task's information.
      */
@@ -176,52 +468,115 @@ public class TaskController {
             return errors;
         }
         
+        // Validate status
+        if (!isValidStatus(task.getStatus())) {
+            errors.put("status", "Invalid status value");
+            return errors;
+        }
+        
         try {
-            // Get the current task to check for status change
-            Task currentTask = taskDAO.getTaskById(task.getId());
-            if (currentTask == null) {
-                errors.put("general", "Task not found");
-                return errors;
-            }
+            // Conditional on the version the editor started from; a status change is logged in the same statement
+            TaskUpdateResult result = taskDAO.updateTask(task, changedBy);
             
-            // Validate status
-            String status = task.getStatus();
-            if (!isValidStatus(status)) {
-                errors.put("status", "Invalid status value");
-                return errors;
+            switch (result.getOutcome()) {
+                case UPDATED:
+                    task.setVersion(result.getVersion());
+                    if (result.getOldProjectId() != task.getProjectId()) {
+                        ProjectCache.adjustTaskCount(result.getOldProjectId(), -1);
+                        ProjectCache.adjustTaskCount(task.getProjectId(), 1);
+                    }
+                    break;
+                case CONFLICT:
+                    errors.put("general", "This task was changed by someone else after you opened it. " +
+                            "Reload the task to see the latest version before saving again.");
+                    break;
+                case NOT_FOUND:
+                    errors.put("general", "Task not found");
+                    break;
+                default:
+                    errors.put("general", "Failed to update task");
+                    break;
             }
-            
-            Timestamp now = new Timestamp(System.currentTimeMillis());
-            task.setUpdatedAt(now);
-            
-            // Update the task
-            boolean success = taskDAO.updateTask(task);
-            
-            if (!success) {
-                errors.put("general", "Failed to update task");
-                return errors;
+        } catch (Exception e) {
+            e.printStackTrace();
+            errors.put("general", "An error occurred while updating the task: " + e.getMessage());
+        }
+        
+        return errors;
+    }
+    
+    /**
+     * Changes the status and/or assignee of a set of tasks in one statement.
+     * The set is either the tasks selected by ID or every task matching a filter; in both
+     * cases only the tasks the actor may edit are changed, which the database checks.
+     * 
+     * @param filter The tasks to change: task IDs and/or list filters; at least one criterion is required
+     * @param newStatus The new status, or null to keep each task's status
+     * @param newAssigneeId The new assignee, or null to keep each task's assignee
+     * @param actor The user making the change
+     * @return The number of tasks changed and of matching tasks that already had the requested values;
+     *         selected task IDs that could not be changed are reported as row errors
+     */
+    public BulkResult bulkUpdateTasks(TaskQuery filter, String newStatus, Integer newAssigneeId, User actor) {
+        BulkResult result = new BulkResult();
+        
+        if (newStatus == null && newAssigneeId == null) {
+            result.setGeneralError("Choose a new status or a new assignee");
+            return result;
+        }
+        if (newStatus != null && !isValidStatus(newStatus)) {
+            result.setGeneralError("Invalid status value");
+            return result;
+        }
+        if (newAssigneeId != null && !isKnownUser(newAssigneeId)) {
+            result.setGeneralError("Unknown assignee");
+            return result;
+        }
+        
+        boolean hasIds = filter.getTaskIds() != null && !filter.getTaskIds().isEmpty();
+        boolean hasFilter = filter.getStatus() != null || filter.getProjectId() != null
+                || filter.getAssigneeId() != null || filter.getCreatorId() != null
+                || filter.getDueFrom() != null || filter.getDueTo() != null;
+        if (!hasIds && !hasFilter) {
+            // Refuse to silently apply the change to every task
+            result.setGeneralError("Select at least one task or filter");
+            return result;
+        }
+        
+        try {
+            Map<Integer, Boolean> matched = taskDAO.bulkUpdateTasks(filter, newStatus, newAssigneeId,
+                    actor.getId(), actor.isAdmin());
+            int changed = 0;
+            for (boolean taskChanged : matched.values()) {
+                if (taskChanged) {
+                    changed++;
+                }
             }
+            result.setSuccessCount(changed);
+            result.setUnchangedCount(matched.size() - changed);
             
-            // Create task log if status changed
-            if (!currentTask.getStatus().equals(task.getStatus())) {
-                TaskLog log = new TaskLog();
-                log.setTaskId(task.getId());
-                log.setOldStatus(currentTask.getStatus());
-                log.setNewStatus(task.getStatus());
-                log.setChangedAt(now);
-                log.setChangedBy(changedBy);
-                
-                boolean logSuccess = taskLogDAO.createTaskLog(log);
-                if (!logSuccess) {
-                    errors.put("warning", "Task updated but failed to create status change log");
+            if (hasIds) {
+                for (Integer taskId : filter.getTaskIds()) {
+                    if (!matched.containsKey(taskId)) {
+                        result.addRowError(taskId, "Task not found or you are not allowed to edit it");
+                    }
                 }
             }
         } catch (Exception e) {
             e.printStackTrace();
-            errors.put("general", "An error occurred while updating the task: " + e.getMessage());
+            result.setGeneralError("An error occurred while updating the tasks; no task was changed: " + e.getMessage());
         }
         
-        return errors;
+        return result;
+    }
+    
+    private boolean isKnownUser(int userId) {
+        for (User user : referenceDataController.getTaskFormData().getUsers()) {
+            if (user.getId() == userId) {
+                return true;
+            }
+        }
+        return false;
     }
     
     /**
@@ -237,48 +592,94 @@ public class TaskController {
         }
         
         try {
-            Task task = taskDAO.getTaskById(taskId);
-            if (task == null) {
-                errors.put("general", "Task not found");
-                return errors;
-            }
-            
-            String oldStatus = task.getStatus();
-            task.setStatus(newStatus);
-            task.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
-            
-            boolean success = taskDAO.updateTask(task);
-            
-            if (success) {
-                // Create task log
-                TaskLog log = new TaskLog();
-                log.setTaskId(taskId);
-                log.setOldStatus(oldStatus);
-                log.setNewStatus(newStatus);
-                log.setChangedAt(new Timestamp(System.currentTimeMillis()));
-                log.setChangedBy(changedBy);
-                
-                boolean logSuccess = taskLogDAO.createTaskLog(log);
-                if (!logSuccess) {
-                    errors.put("warning", "Status updated but failed to create status change log");
+            TaskLogWriter logWriter = TaskLogWriter.get();
+            if (logWriter == null) {
+                // Status update and log insert happen in one statement
+                String oldStatus = taskDAO.updateTaskStatus(taskId, newStatus, changedBy);
+                if (oldStatus == null) {
+                    errors.put("general", "Task not found");
                 }
             } else {
-                errors.put("general", "Failed to update task status");
+                // Write-behind: the log is queued and inserted in a later batch
+                Timestamp changedAt = new Timestamp(System.currentTimeMillis());
+                String oldStatus = taskDAO.updateTaskStatus(taskId, newStatus, changedBy, false);
+                if (oldStatus == null) {
+                    errors.put("general", "Task not found");
+                } else {
+                    TaskLog log = new TaskLog();
+                    log.setTaskId(taskId);
+                    log.setOldStatus(oldStatus);
+                    log.setNewStatus(newStatus);
+                    log.setChangedAt(changedAt);
+                    log.setChangedBy(changedBy);
+                    logWriter.submit(log);
+                }
             }
         } catch (Exception e) {
             e.printStackTrace();
-            errors.put("general", "An error occurred while updating the task status: " + e.getMessage());
+            errors.put("general", "The task status could not be changed because of a database error: " + e.getMessage());
         }
         
         return errors;
     }
     
     /**
-     * Deletes a task.
+     * Gets a deleted task that can still be restored, active or archived.
+     * 
+     * @param taskId The task ID
+     * @return The task, or null if it is not a deleted task (any more)
+     */
+    public Task getDeletedTaskById(int taskId) {
+        try {
+            TaskQuery query = new TaskQuery();
+            query.setDeleted(true);
+            query.setIncludeArchived(true);
+            query.setTaskIds(List.of(taskId));
+            List<Task> tasks = taskDAO.findTasks(query).getTasks();
+            return tasks.isEmpty() ? null : tasks.get(0);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Deletes a task. The task is hidden at once and purged in the background later;
+     * until then it can be restored.
      */
     public boolean deleteTask(int taskId) {
         try {
-            return taskDAO.deleteTask(taskId);
+            Task task = taskDAO.getTaskById(taskId);
+            if (task == null) {
+                return false;
+            }
+            
+            boolean success = taskDAO.deleteTask(taskId);
+            if (success) {
+                ProjectCache.adjustTaskCount(task.getProjectId(), -1);
+            }
+            return success;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    /**
+     * Restores a deleted task that has not been purged yet.
+     */
+    public boolean restoreTask(int taskId) {
+        try {
+            Task task = getDeletedTaskById(taskId);
+            if (task == null) {
+                return false;
+            }
+            
+            boolean success = taskDAO.restoreTask(taskId);
+            if (success) {
+                ProjectCache.adjustTaskCount(task.getProjectId(), 1);
+            }
+            return success;
         } catch (Exception e) {
             e.printStackTrace();
             return false;
@@ -297,6 +698,23 @@ public class TaskController {
         }
     }
     
+    /**
+     * Gets one page of a task's history, newest first, with one query; see TaskLogDAO.getTimeline.
+     * 
+     * @param task The already loaded task, attached to every entry
+     * @param cursor The cursor returned with the previous page, or null for the latest entries
+     * @param limit The page size
+     * @return The page of logs
+     */
+    public TaskLogPage getTaskTimeline(Task task, String cursor, int limit) {
+        try {
+            return taskLogDAO.getTimeline(task, cursor, limit);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new TaskLogPage(new ArrayList<>(), null);
+        }
+    }
+    
     /**
      * Validates task input data.
      */
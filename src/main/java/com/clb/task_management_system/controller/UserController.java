@@ -25,6 +25,7 @@ public class UserController {
     
     /**
      * Authenticates a user with the provided email and password.
+     * The user is always read from the database, never from the user cache.
      * 
      * @param email The user's email
      * @param password The user's password
@@ -32,7 +33,7 @@ public class UserController {
      */
     public User authenticateUser(String email, String password) {
         try {
-            User user = userDAO.getUserByEmail(email);
+            User user = userDAO.getUserByEmailUncached(email);
             
             if (user != null && BCrypt.verifyer().verify(password.toCharArray(), user.getPassword()).verified) {
                 return user;
@@ -0,0 +1,169 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.User;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Request-scoped identity map and batch loader for Users and Projects.
+ * DAOs collect the user and project ids referenced by the rows they are building
+ * and resolve them here, so every missing id is fetched with one
+ * {@code WHERE id = ANY(?)} query and the same row is materialized at most once per request.
+ *
+ * <p>The scope is opened and closed by RequestScopeFilter. Outside a request
+ * (startup code, background jobs) {@link #current()} returns a fresh loader, which
+ * still batches within a single DAO call but shares nothing between calls.</p>
+ */
+public class EntityLoader {
+
+    private static final ThreadLocal<EntityLoader> CURRENT = new ThreadLocal<>();
+
+    private final Map<Integer, User> users = new HashMap<>();
+    private final Map<Integer, Project> projects = new HashMap<>();
+
+    private UserDAO userDAO;
+    private ProjectDAO projectDAO;
+
+    /**
+     * Opens a scope for the current thread.
+     */
+    public static void begin() {
+        CURRENT.set(new EntityLoader());
+    }
+
+    /**
+     * Closes the current thread's scope, discarding everything it loaded.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the loader for the current request, or a fresh one if no scope is open.
+     *
+     * @return An EntityLoader
+     */
+    public static EntityLoader current() {
+        EntityLoader loader = CURRENT.get();
+        return loader != null ? loader : new EntityLoader();
+    }
+
+    /**
+     * Gets a user that has already been loaded in this scope.
+     *
+     * @param id The user ID
+     * @return The user, or null if it has not been loaded yet
+     */
+    public User getLoadedUser(int id) {
+        return users.get(id);
+    }
+
+    /**
+     * Registers a user materialized elsewhere (e.g. from a joined row), unless one with
+     * the same ID is already known.
+     *
+     * @param user The user to register
+     * @return The instance held by this scope for that ID
+     */
+    public User register(User user) {
+        User existing = users.putIfAbsent(user.getId(), user);
+        return existing != null ? existing : user;
+    }
+
+    /**
+     * Gets a project that has already been loaded in this scope.
+     *
+     * @param id The project ID
+     * @return The project, or null if it has not been loaded yet
+     */
+    public Project getLoadedProject(int id) {
+        return projects.get(id);
+    }
+
+    /**
+     * Registers a project materialized elsewhere, unless one with the same ID is already known.
+     * Projects mapped from a joined task row carry no creator or task count.
+     *
+     * @param project The project to register
+     * @return The instance held by this scope for that ID
+     */
+    public Project register(Project project) {
+        Project existing = projects.putIfAbsent(project.getId(), project);
+        return existing != null ? existing : project;
+    }
+
+    /**
+     * Resolves a set of user IDs, fetching the ones not yet loaded with a single query.
+     *
+     * @param ids The user IDs; non-positive IDs are ignored
+     * @return A map from ID to user for every ID that exists
+     * @throws SQLException If a database error occurs
+     */
+    public Map<Integer, User> loadUsers(Collection<Integer> ids) throws SQLException {
+        Set<Integer> missing = missingIds(ids, users);
+        if (!missing.isEmpty()) {
+            for (User user : getUserDAO().getUsersByIds(missing)) {
+                users.putIfAbsent(user.getId(), user);
+            }
+        }
+        return subset(ids, users);
+    }
+
+    /**
+     * Resolves a set of project IDs, fetching the ones not yet loaded with a single query.
+     *
+     * @param ids The project IDs; non-positive IDs are ignored
+     * @return A map from ID to project for every ID that exists
+     */
+    public Map<Integer, Project> loadProjects(Collection<Integer> ids) {
+        Set<Integer> missing = missingIds(ids, projects);
+        if (!missing.isEmpty()) {
+            for (Project project : getProjectDAO().getProjectsByIds(missing)) {
+                projects.putIfAbsent(project.getId(), project);
+            }
+        }
+        return subset(ids, projects);
+    }
+
+    private static <T> Set<Integer> missingIds(Collection<Integer> ids, Map<Integer, T> loaded) {
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null && id > 0 && !loaded.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    private static <T> Map<Integer, T> subset(Collection<Integer> ids, Map<Integer, T> loaded) {
+        Map<Integer, T> result = new HashMap<>();
+        for (Integer id : ids) {
+            T value = id != null ? loaded.get(id) : null;
+            if (value != null) {
+                result.put(id, value);
+            }
+        }
+        return result;
+    }
+
+    // DAOs are created lazily because ProjectDAO itself resolves creators through this class
+    private UserDAO getUserDAO() {
+        if (userDAO == null) {
+            userDAO = new UserDAO();
+        }
+        return userDAO;
+    }
+
+    private ProjectDAO getProjectDAO() {
+        if (projectDAO == null) {
+            projectDAO = new ProjectDAO();
+        }
+        return projectDAO;
+    }
+}
@@ -0,0 +1,217 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.Task;
+import com.clb.task_management_system.util.CsvWriter;
+import com.clb.task_management_system.util.DatabaseUtil;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Loads large numbers of projects or tasks, e.g. when migrating from another tracker.
+ * Rows are streamed with COPY into a temporary staging table and then moved into the real
+ * tables with one set-based INSERT ... SELECT, all in a single transaction. Compared to one
+ * INSERT per row this avoids a round trip and a statement per row, which is what makes
+ * imports of millions of rows practical.
+ *
+ * <p>Rows must already be validated and have their users and projects resolved to IDs;
+ * the staging tables only exist for the duration of the transaction.</p>
+ */
+public class ImportDAO {
+
+    /**
+     * Supplies the rows of an import one at a time.
+     */
+    public interface RowSource<T> {
+
+        /**
+         * Gets the next row.
+         *
+         * @return The row, or null when there are no more rows
+         * @throws IOException If the input cannot be read; the import is aborted
+         */
+        T next() throws IOException;
+    }
+
+    /**
+     * Imports projects. Names that already exist (ignoring case) are skipped, so an import
+     * that is run twice does not duplicate projects.
+     *
+     * @param projects The projects to import
+     * @return The number of projects inserted
+     * @throws SQLException If the import fails; nothing is imported
+     * @throws IOException If the source fails; nothing is imported
+     */
+    public int importProjects(RowSource<Project> projects) throws SQLException, IOException {
+        String stage = "CREATE TEMP TABLE import_projects (" +
+                "seq INT, name VARCHAR(100), description TEXT, start_date DATE, end_date DATE, created_by INT" +
+                ") ON COMMIT DROP";
+        String merge = "INSERT INTO PROJECTS (name, description, start_date, end_date, created_by) " +
+                "SELECT s.name, s.description, s.start_date, s.end_date, s.created_by FROM import_projects s " +
+                "WHERE NOT EXISTS (SELECT 1 FROM PROJECTS p WHERE lower(p.name) = lower(s.name)) " +
+                "ORDER BY s.seq";
+
+        return load(stage, "COPY import_projects FROM STDIN WITH (FORMAT csv)", out -> {
+            int seq = 0;
+            Project project;
+            while ((project = projects.next()) != null) {
+                out.writeRecord(String.valueOf(++seq),
+                        project.getName(),
+                        project.getDescription(),
+                        toText(project.getStartDate()),
+                        toText(project.getEndDate()),
+                        String.valueOf(project.getCreatedBy()));
+            }
+        }, merge);
+    }
+
+    /**
+     * Imports tasks together with their initial TASK_LOGS row, as createTask would write it.
+     * A task without a creation time is stamped with the time of the import.
+     *
+     * @param tasks The tasks to import
+     * @return The number of tasks inserted
+     * @throws SQLException If the import fails; nothing is imported
+     * @throws IOException If the source fails; nothing is imported
+     */
+    public int importTasks(RowSource<Task> tasks) throws SQLException, IOException {
+        String stage = "CREATE TEMP TABLE import_tasks (" +
+                "seq INT, title VARCHAR(100), description TEXT, due_date DATE, status VARCHAR(20), " +
+                "assigned_to INT, project_id INT, created_by INT, created_at TIMESTAMP" +
+                ") ON COMMIT DROP";
+        String merge = "WITH ins AS (INSERT INTO TASKS (title, description, due_date, status, assigned_to, project_id, " +
+                "created_by, created_at, updated_at) " +
+                "SELECT title, description, due_date, status, assigned_to, project_id, created_by, " +
+                "COALESCE(created_at, CURRENT_TIMESTAMP), COALESCE(created_at, CURRENT_TIMESTAMP) " +
+                "FROM import_tasks ORDER BY seq " +
+                "RETURNING id, status, created_by, created_at) " +
+                "INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                "SELECT id, NULL, status, created_at, created_by FROM ins";
+        // Imported history may reach back to months that have no TASK_LOGS partition yet
+        String partitions = "SELECT ensure_task_log_partitions(MIN(COALESCE(created_at, CURRENT_TIMESTAMP)), " +
+                "MAX(COALESCE(created_at, CURRENT_TIMESTAMP))) FROM import_tasks";
+
+        return load(stage, "COPY import_tasks FROM STDIN WITH (FORMAT csv)", out -> {
+            int seq = 0;
+            Task task;
+            while ((task = tasks.next()) != null) {
+                out.writeRecord(String.valueOf(++seq),
+                        task.getTitle(),
+                        task.getDescription(),
+                        toText(task.getDueDate()),
+                        task.getStatus(),
+                        String.valueOf(task.getAssignedTo()),
+                        task.getProjectId() > 0 ? String.valueOf(task.getProjectId()) : null,
+                        String.valueOf(task.getCreatedBy()),
+                        toText(task.getCreatedAt()));
+            }
+        }, partitions, merge);
+    }
+
+    private interface CopyBody {
+        void write(CsvWriter out) throws IOException;
+    }
+
+    /**
+     * Creates the staging table, streams the rows into it with COPY and runs the merge statements in order.
+     *
+     * @return The number of rows inserted by the last merge statement
+     */
+    private int load(String stageSql, String copySql, CopyBody body, String... mergeSql) throws SQLException, IOException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(stageSql);
+                }
+
+                CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+                try {
+                    CopyInWriter writer = new CopyInWriter(copy);
+                    body.write(new CsvWriter(writer));
+                    writer.flush();
+                    long staged = copy.endCopy();
+                    System.out.println("ImportDAO: Staged " + staged + " rows");
+                } finally {
+                    if (copy.isActive()) {
+                        copy.cancelCopy();
+                    }
+                }
+
+                int inserted = 0;
+                try (Statement stmt = conn.createStatement()) {
+                    for (String sql : mergeSql) {
+                        stmt.execute(sql);
+                        inserted = stmt.getUpdateCount();
+                    }
+                }
+                conn.commit();
+                return inserted;
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static String toText(java.util.Date value) {
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Encodes characters as UTF-8 and sends them to a COPY in chunks of at most BUFFER_SIZE characters.
+     */
+    private static final class CopyInWriter extends Writer {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+
+        private CopyInWriter(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            buffer.append(chars, offset, length);
+            if (buffer.length() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void write(String text) throws IOException {
+            buffer.append(text);
+            if (buffer.length() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer.length() == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            try {
+                copy.writeToCopy(bytes, 0, bytes.length);
+            } catch (SQLException e) {
+                throw new IOException("COPY failed: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
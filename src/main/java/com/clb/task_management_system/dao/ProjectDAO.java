@@ -1,25 +1,64 @@
 package com.clb.task_management_system.dao;
 
 import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ProjectDeleteResult;
 import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.AppConfig;
 import com.clb.task_management_system.util.DatabaseUtil;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 public class ProjectDAO {
     
-    private UserDAO userDAO = new UserDAO();
+    /**
+     * Projects with their task count, summed from the per-status rows of PROJECT_TASK_COUNTS
+     * (a primary key range lookup) instead of scanning and grouping TASKS.
+     */
+    private static final String PROJECT_WITH_TASK_COUNT_SELECT =
+            "SELECT p.*, " +
+            "(SELECT COALESCE(SUM(pc.task_count), 0) FROM PROJECT_TASK_COUNTS pc WHERE pc.project_id = p.id) AS task_count " +
+            "FROM PROJECTS p ";
+    
+    /** Maximum number of tasks deleted or detached per transaction by deleteProject. */
+    private static final int DELETE_CHUNK_SIZE = AppConfig.getInt("PROJECT_DELETE_CHUNK_SIZE", 5000);
+    
+    // One chunk of a project's tasks and their logs, deleted in a single statement.
+    // Foreign keys are checked at the end of the statement, when the logs are gone as well.
+    private static final String DELETE_TASK_CHUNK =
+            "WITH target AS (SELECT id FROM TASKS WHERE project_id = ? ORDER BY id LIMIT ? FOR UPDATE), " +
+            "deleted_logs AS (DELETE FROM TASK_LOGS l USING target WHERE l.task_id = target.id RETURNING 1), " +
+            "deleted_tasks AS (DELETE FROM TASKS t USING target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM deleted_tasks) AS task_count, (SELECT COUNT(*) FROM deleted_logs) AS log_count";
+    
+    private static final String DELETE_ARCHIVED_TASK_CHUNK =
+            "WITH target AS (SELECT id FROM TASKS_ARCHIVE WHERE project_id = ? ORDER BY id LIMIT ? FOR UPDATE), " +
+            "deleted_logs AS (DELETE FROM TASK_LOGS_ARCHIVE l USING target WHERE l.task_id = target.id RETURNING 1), " +
+            "deleted_tasks AS (DELETE FROM TASKS_ARCHIVE t USING target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM deleted_tasks) AS task_count, (SELECT COUNT(*) FROM deleted_logs) AS log_count";
+    
+    // One chunk of a project's tasks, kept without a project; the counter triggers move them out of
+    // PROJECT_TASK_COUNTS. Archived tasks are read-only, so only their project reference is cleared.
+    private static final String DETACH_TASK_CHUNK =
+            "WITH target AS (SELECT id FROM TASKS WHERE project_id = ? ORDER BY id LIMIT ? FOR UPDATE), " +
+            "detached AS (UPDATE TASKS t SET project_id = NULL, updated_at = CURRENT_TIMESTAMP, version = t.version + 1 " +
+            "FROM target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT COUNT(*) AS task_count, 0 AS log_count FROM detached";
+    
+    private static final String DETACH_ARCHIVED_TASK_CHUNK =
+            "WITH target AS (SELECT id FROM TASKS_ARCHIVE WHERE project_id = ? ORDER BY id LIMIT ? FOR UPDATE), " +
+            "detached AS (UPDATE TASKS_ARCHIVE t SET project_id = NULL FROM target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT COUNT(*) AS task_count, 0 AS log_count FROM detached";
     
     public Project getProjectById(int id) {
-        String query = "SELECT p.*, COUNT(t.id) as task_count " +
-                      "FROM PROJECTS p " +
-                      "LEFT JOIN TASKS t ON p.id = t.project_id " +
-                      "WHERE p.id = ? " +
-                      "GROUP BY p.id, p.name, p.description, p.start_date, p.end_date, p.created_by";
+        String query = PROJECT_WITH_TASK_COUNT_SELECT +
+                      "WHERE p.id = ?";
         
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -29,10 +68,8 @@ public class ProjectDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Project project = mapResultSetToProject(rs);
-                    // Get the creator user
-                    User creator = userDAO.getUserById(project.getCreatedBy());
-                    project.setCreator(creator);
                     project.setTaskCount(rs.getInt("task_count"));
+                    attachCreators(List.of(project));
                     return project;
                 }
             }
@@ -45,10 +82,7 @@ public class ProjectDAO {
     
     public List<Project> getAllProjects() {
         List<Project> projects = new ArrayList<>();
-        String query = "SELECT p.*, COUNT(t.id) as task_count " +
-                      "FROM PROJECTS p " +
-                      "LEFT JOIN TASKS t ON p.id = t.project_id " +
-                      "GROUP BY p.id, p.name, p.description, p.start_date, p.end_date, p.created_by " +
+        String query = PROJECT_WITH_TASK_COUNT_SELECT +
                       "ORDER BY p.name";
         
         try (Connection conn = DatabaseUtil.getConnection();
@@ -57,12 +91,10 @@ public class ProjectDAO {
             
             while (rs.next()) {
                 Project project = mapResultSetToProject(rs);
-                // Get the creator user
-                User creator = userDAO.getUserById(project.getCreatedBy());
-                project.setCreator(creator);
                 project.setTaskCount(rs.getInt("task_count"));
                 projects.add(project);
             }
+            attachCreators(projects);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -72,11 +104,8 @@ public class ProjectDAO {
     
     public List<Project> getProjectsByCreator(int creatorId) {
         List<Project> projects = new ArrayList<>();
-        String query = "SELECT p.*, COUNT(t.id) as task_count " +
-                      "FROM PROJECTS p " +
-                      "LEFT JOIN TASKS t ON p.id = t.project_id " +
+        String query = PROJECT_WITH_TASK_COUNT_SELECT +
                       "WHERE p.created_by = ? " +
-                      "GROUP BY p.id, p.name, p.description, p.start_date, p.end_date, p.created_by " +
                       "ORDER BY p.name";
         
         try (Connection conn = DatabaseUtil.getConnection();
@@ -87,13 +116,11 @@ public class ProjectDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     Project project = mapResultSetToProject(rs);
-                    // Get the creator user
-                    User creator = userDAO.getUserById(project.getCreatedBy());
-                    project.setCreator(creator);
                     project.setTaskCount(rs.getInt("task_count"));
                     projects.add(project);
                 }
             }
+            attachCreators(projects);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -101,6 +128,54 @@ public class ProjectDAO {
         return projects;
     }
     
+    /**
+     * Retrieves several projects, with their task counts and creators, in one query.
+     * Used by EntityLoader to resolve project references in batches.
+     */
+    public List<Project> getProjectsByIds(Collection<Integer> ids) {
+        List<Project> projects = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return projects;
+        }
+        
+        String query = PROJECT_WITH_TASK_COUNT_SELECT +
+                      "WHERE p.id = ANY(?)";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            
+            stmt.setArray(1, conn.createArrayOf("integer", ids.toArray()));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Project project = mapResultSetToProject(rs);
+                    project.setTaskCount(rs.getInt("task_count"));
+                    projects.add(project);
+                }
+            }
+            attachCreators(projects);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        return projects;
+    }
+    
+    /**
+     * Sets the creator of each project, loading all distinct creators with one query.
+     */
+    private void attachCreators(List<Project> projects) throws SQLException {
+        Set<Integer> creatorIds = new HashSet<>();
+        for (Project project : projects) {
+            creatorIds.add(project.getCreatedBy());
+        }
+        
+        Map<Integer, User> creators = EntityLoader.current().loadUsers(creatorIds);
+        for (Project project : projects) {
+            project.setCreator(creators.get(project.getCreatedBy()));
+        }
+    }
+    
     private Project mapResultSetToProject(ResultSet rs) throws SQLException {
         Project project = new Project();
         project.setId(rs.getInt("id"));
@@ -166,20 +241,109 @@ public class ProjectDAO {
         }
     }
     
-    public boolean deleteProject(int projectId) {
-        String query = "DELETE FROM PROJECTS WHERE id = ?";
+    /**
+     * Deletes a project together with its tasks, active and archived. Each chunk of tasks is
+     * removed with its logs by a single statement; the project row is locked first, so no task
+     * can be added to the project meanwhile.
+     * A project with up to PROJECT_DELETE_CHUNK_SIZE (5000) tasks per table is deleted in one transaction.
+     * Larger projects commit after every full chunk to keep lock times short, so a failure may
+     * leave the project with only part of its tasks; deleting it again finishes the job.
+     *
+     * @param projectId The ID of the project to delete
+     * @param handling Whether the project's tasks are deleted or kept without a project
+     * @return The number of affected rows; projectDeleted is false if the project does not exist
+     * @throws SQLException If a database error occurs
+     */
+    public ProjectDeleteResult deleteProject(int projectId, ProjectDeleteResult.TaskHandling handling) throws SQLException {
+        String[] chunkQueries = handling == ProjectDeleteResult.TaskHandling.DETACH
+                ? new String[] {DETACH_TASK_CHUNK, DETACH_ARCHIVED_TASK_CHUNK}
+                : new String[] {DELETE_TASK_CHUNK, DELETE_ARCHIVED_TASK_CHUNK};
+        ProjectDeleteResult result = new ProjectDeleteResult();
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+        Connection conn = null;
+        try {
+            conn = DatabaseUtil.getConnection();
+            conn.setAutoCommit(false);
             
-            stmt.setInt(1, projectId);
+            if (!lockProject(conn, projectId)) {
+                conn.rollback();
+                return result;
+            }
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            for (String chunkQuery : chunkQueries) {
+                try (PreparedStatement stmt = conn.prepareStatement(chunkQuery)) {
+                    stmt.setInt(1, projectId);
+                    stmt.setInt(2, DELETE_CHUNK_SIZE);
+                    
+                    while (runChunk(stmt, handling, result) == DELETE_CHUNK_SIZE) {
+                        // Release the locks of this chunk before taking the next one
+                        conn.commit();
+                        if (!lockProject(conn, projectId)) {
+                            conn.rollback();
+                            return result;
+                        }
+                    }
+                }
+            }
             
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM PROJECTS WHERE id = ?")) {
+                stmt.setInt(1, projectId);
+                result.setProjectDeleted(stmt.executeUpdate() > 0);
+            }
+            
+            conn.commit();
+            return result;
         } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    rollbackEx.printStackTrace();
+                }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException closeEx) {
+                    closeEx.printStackTrace();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Locks the project row until the end of the transaction. Inserting or moving a task into
+     * the project needs a key share lock on the same row, so it waits for the deletion.
+     */
+    private boolean lockProject(Connection conn, int projectId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM PROJECTS WHERE id = ? FOR UPDATE")) {
+            stmt.setInt(1, projectId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+    
+    /**
+     * Runs one chunk statement and adds its counts to the result.
+     *
+     * @return The number of tasks the chunk deleted or detached
+     */
+    private int runChunk(PreparedStatement stmt, ProjectDeleteResult.TaskHandling handling,
+                         ProjectDeleteResult result) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            int tasks = rs.getInt("task_count");
+            if (handling == ProjectDeleteResult.TaskHandling.DETACH) {
+                result.addTasksDetached(tasks);
+            } else {
+                result.addTasksDeleted(tasks);
+            }
+            result.addLogsDeleted(rs.getInt("log_count"));
+            return tasks;
         }
     }
     
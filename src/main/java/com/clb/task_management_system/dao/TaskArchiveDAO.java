@@ -0,0 +1,74 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Moves old Completed tasks and their logs out of TASKS and TASK_LOGS into TASKS_ARCHIVE and
+ * TASK_LOGS_ARCHIVE, so the tables every listing and aggregate reads stay small.
+ * Archived tasks keep their IDs: TaskDAO.getTaskById falls back to the archive, listings
+ * include it on request (TaskQuery.includeArchived), and the task counters still count them.
+ */
+public class TaskArchiveDAO {
+
+    // One batch: lock the candidates (skipping rows a request is editing, and deleted tasks, which
+    // TaskPurgeDAO removes), delete them and their logs, and insert both into the archive. Foreign keys are checked at the end of the statement,
+    // when the archived logs already have their archived task.
+    private static final String ARCHIVE_BATCH =
+            "WITH target AS (SELECT id FROM TASKS " +
+            "WHERE status = 'Completed' AND deleted_at IS NULL AND updated_at < CURRENT_TIMESTAMP - make_interval(days => ?) " +
+            "ORDER BY updated_at, id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "moved_logs AS (DELETE FROM TASK_LOGS l USING target WHERE l.task_id = target.id " +
+            "RETURNING l.id, l.task_id, l.old_status, l.new_status, l.changed_at, l.changed_by), " +
+            "moved_tasks AS (DELETE FROM TASKS t USING target WHERE t.id = target.id " +
+            "RETURNING t.id, t.title, t.description, t.due_date, t.status, t.assigned_to, t.project_id, " +
+            "t.created_by, t.created_at, t.updated_at, t.version), " +
+            "archived_tasks AS (INSERT INTO TASKS_ARCHIVE (id, title, description, due_date, status, assigned_to, " +
+            "project_id, created_by, created_at, updated_at, version) " +
+            "SELECT id, title, description, due_date, status, assigned_to, project_id, created_by, " +
+            "created_at, updated_at, version FROM moved_tasks RETURNING id), " +
+            "archived_logs AS (INSERT INTO TASK_LOGS_ARCHIVE (id, task_id, old_status, new_status, changed_at, changed_by) " +
+            "SELECT id, task_id, old_status, new_status, changed_at, changed_by FROM moved_logs RETURNING id) " +
+            "SELECT (SELECT COUNT(*) FROM archived_tasks) AS task_count, (SELECT COUNT(*) FROM archived_logs) AS log_count";
+
+    /**
+     * Archives the tasks that have been Completed, and not changed, for longer than the given age.
+     * Tasks are moved in batches, each in its own short transaction, so no lock is held for long
+     * and a failure keeps the batches already moved.
+     *
+     * @param olderThanDays The minimum number of days since the task was last updated
+     * @param batchSize The number of tasks moved per transaction
+     * @return The number of tasks archived
+     * @throws SQLException If a database error occurs
+     */
+    public int archiveCompletedTasks(int olderThanDays, int batchSize) throws SQLException {
+        int archivedTasks = 0;
+        int archivedLogs = 0;
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(ARCHIVE_BATCH)) {
+
+            stmt.setInt(1, olderThanDays);
+            stmt.setInt(2, batchSize);
+
+            int moved;
+            do {
+                try (ResultSet rs = stmt.executeQuery()) {
+                    rs.next();
+                    moved = rs.getInt("task_count");
+                    archivedLogs += rs.getInt("log_count");
+                }
+                archivedTasks += moved;
+            } while (moved == batchSize);
+        }
+
+        if (archivedTasks > 0) {
+            System.out.println("TaskArchiveDAO: Archived " + archivedTasks + " tasks with " + archivedLogs + " logs");
+        }
+        return archivedTasks;
+    }
+}
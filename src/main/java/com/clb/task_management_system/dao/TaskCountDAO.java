@@ -0,0 +1,201 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data Access Object for the task status counters.
+ * USER_TASK_COUNTS (per assignee) and PROJECT_TASK_COUNTS (per project) are maintained
+ * by triggers on TASKS and TASKS_ARCHIVE, in the same transaction as the task write, so
+ * reads here are primary key lookups instead of scans of TASKS.
+ */
+public class TaskCountDAO {
+
+    // The counters cover archived tasks too (see TaskArchiveDAO), but not deleted ones
+    private static final String ALL_TASKS =
+            "(SELECT assigned_to, project_id, status FROM TASKS WHERE deleted_at IS NULL " +
+            "UNION ALL SELECT assigned_to, project_id, status FROM TASKS_ARCHIVE WHERE deleted_at IS NULL) t";
+
+    // Actual counts compared with the stored ones; a row appears for every key that differs
+    private static final String USER_COUNT_DRIFT =
+            "SELECT COALESCE(a.user_id, s.user_id) AS user_id, COALESCE(a.status, s.status) AS status, " +
+            "COALESCE(a.task_count, 0) AS task_count " +
+            "FROM (SELECT assigned_to AS user_id, status, COUNT(*)::int AS task_count FROM " + ALL_TASKS + " " +
+            "GROUP BY assigned_to, status) a " +
+            "FULL OUTER JOIN USER_TASK_COUNTS s ON s.user_id = a.user_id AND s.status = a.status " +
+            "WHERE COALESCE(a.task_count, 0) <> COALESCE(s.task_count, 0)";
+
+    private static final String PROJECT_COUNT_DRIFT =
+            "SELECT COALESCE(a.project_id, s.project_id) AS project_id, COALESCE(a.status, s.status) AS status, " +
+            "COALESCE(a.task_count, 0) AS task_count " +
+            "FROM (SELECT project_id, status, COUNT(*)::int AS task_count FROM " + ALL_TASKS + " " +
+            "WHERE project_id IS NOT NULL GROUP BY project_id, status) a " +
+            "FULL OUTER JOIN PROJECT_TASK_COUNTS s ON s.project_id = a.project_id AND s.status = a.status " +
+            "WHERE COALESCE(a.task_count, 0) <> COALESCE(s.task_count, 0)";
+
+    /**
+     * Gets the number of tasks assigned to a user, per status.
+     *
+     * @param userId The assignee's user ID
+     * @return A map from status to number of tasks; statuses without tasks may be absent
+     */
+    public Map<String, Integer> getUserTaskCounts(int userId) {
+        return getCounts("SELECT status, task_count FROM USER_TASK_COUNTS WHERE user_id = ?", userId);
+    }
+
+    /**
+     * Gets the number of tasks in a project, per status.
+     *
+     * @param projectId The project ID
+     * @return A map from status to number of tasks; statuses without tasks may be absent
+     */
+    public Map<String, Integer> getProjectTaskCounts(int projectId) {
+        return getCounts("SELECT status, task_count FROM PROJECT_TASK_COUNTS WHERE project_id = ?", projectId);
+    }
+
+    private Map<String, Integer> getCounts(String query, int id) {
+        Map<String, Integer> counts = new HashMap<>();
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString("status"), rs.getInt("task_count"));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return counts;
+    }
+
+    /**
+     * Compares the counters with the actual contents of TASKS and TASKS_ARCHIVE and corrects any that differ.
+     * The comparison is a plain read that takes no table lock, so task writes carry on while it scans.
+     * Each user or project it finds drifting is then repaired in its own short transaction: its counter
+     * rows are locked, its tasks recounted through the assignee/project indexes, and only the rows that
+     * still differ are written. A task write for that key waits for the row locks, so its trigger applies
+     * its change on top of the repaired value. A counter row that does not exist yet and is being created
+     * concurrently is left alone and checked again on the next run.
+     *
+     * @return The number of counter rows that had to be corrected
+     * @throws SQLException If a database error occurs; repairs already committed are kept
+     */
+    public int verifyAndRepair() throws SQLException {
+        int repaired = 0;
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            Set<Integer> users = findDrift(conn, USER_COUNT_DRIFT, "user_id");
+            Set<Integer> projects = findDrift(conn, PROJECT_COUNT_DRIFT, "project_id");
+
+            conn.setAutoCommit(false);
+            try {
+                for (int userId : users) {
+                    repaired += repair(conn, "USER_TASK_COUNTS", "user_id", "assigned_to", userId);
+                }
+                for (int projectId : projects) {
+                    repaired += repair(conn, "PROJECT_TASK_COUNTS", "project_id", "project_id", projectId);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+
+        return repaired;
+    }
+
+    private Set<Integer> findDrift(Connection conn, String driftQuery, String keyColumn) throws SQLException {
+        Set<Integer> keys = new HashSet<>();
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(driftQuery)) {
+            while (rs.next()) {
+                keys.add(rs.getInt(keyColumn));
+            }
+        }
+
+        return keys;
+    }
+
+    /**
+     * Rechecks and repairs the counters of one user or project, then commits.
+     *
+     * @param table The counter table
+     * @param keyColumn The counter table's key column
+     * @param taskColumn The TASKS column holding the key
+     * @param key The user or project ID
+     * @return The number of counter rows corrected
+     */
+    private int repair(Connection conn, String table, String keyColumn, String taskColumn, int key) throws SQLException {
+        Map<String, Integer> stored = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT status, task_count FROM " + table + " WHERE " + keyColumn + " = ? FOR UPDATE")) {
+            stmt.setInt(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getString("status"), rs.getInt("task_count"));
+                }
+            }
+        }
+
+        Map<String, Integer> actual = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT status, COUNT(*)::int AS task_count FROM (" +
+                "SELECT status FROM TASKS WHERE " + taskColumn + " = ? AND deleted_at IS NULL " +
+                "UNION ALL SELECT status FROM TASKS_ARCHIVE WHERE " + taskColumn + " = ? AND deleted_at IS NULL) t " +
+                "GROUP BY status")) {
+            stmt.setInt(1, key);
+            stmt.setInt(2, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    actual.put(rs.getString("status"), rs.getInt("task_count"));
+                }
+            }
+        }
+
+        Set<String> statuses = new HashSet<>(stored.keySet());
+        statuses.addAll(actual.keySet());
+        int repaired = 0;
+
+        try (PreparedStatement update = conn.prepareStatement(
+                     "UPDATE " + table + " SET task_count = ? WHERE " + keyColumn + " = ? AND status = ?");
+             PreparedStatement insert = conn.prepareStatement(
+                     "INSERT INTO " + table + " (" + keyColumn + ", status, task_count) VALUES (?, ?, ?) " +
+                     "ON CONFLICT (" + keyColumn + ", status) DO NOTHING")) {
+            for (String status : statuses) {
+                int count = actual.getOrDefault(status, 0);
+                Integer current = stored.get(status);
+                if (current == null) {
+                    insert.setInt(1, key);
+                    insert.setString(2, status);
+                    insert.setInt(3, count);
+                    repaired += insert.executeUpdate();
+                } else if (current != count) {
+                    update.setInt(1, count);
+                    update.setInt(2, key);
+                    update.setString(3, status);
+                    repaired += update.executeUpdate();
+                }
+            }
+        }
+
+        conn.commit();
+        return repaired;
+    }
+}
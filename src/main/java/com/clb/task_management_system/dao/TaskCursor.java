@@ -0,0 +1,75 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in a task listing ordered by (created_at DESC, id DESC).
+ * A page is fetched with {@code WHERE (created_at, id) < (?, ?)}, which the
+ * (…, created_at, id) indexes answer directly, so every page costs the same as the first.
+ * Cursors travel through URLs as opaque URL-safe strings.
+ */
+public class TaskCursor {
+    private final Timestamp createdAt;
+    private final int id;
+
+    public TaskCursor(Timestamp createdAt, int id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor pointing just past the given task.
+     *
+     * @param task The last task of a page
+     * @return The cursor for the next page
+     */
+    public static TaskCursor after(Task task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this cursor for use in a URL.
+     *
+     * @return The encoded cursor
+     */
+    public String encode() {
+        String raw = createdAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param value The encoded cursor, possibly null or empty
+     * @return The cursor, or null if the value is missing or malformed (i.e. start from the first page)
+     */
+    public static TaskCursor decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                return null;
+            }
+            Timestamp createdAt = Timestamp.valueOf(raw.substring(0, separator));
+            int id = Integer.parseInt(raw.substring(separator + 1));
+            return new TaskCursor(createdAt, id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
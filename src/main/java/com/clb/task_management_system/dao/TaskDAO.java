@@ -2,33 +2,92 @@ package com.clb.task_management_system.dao;
 
 import com.clb.task_management_system.model.Project;
 import com.clb.task_management_system.model.Task;
+import com.clb.task_management_system.model.TaskPage;
+import com.clb.task_management_system.model.TaskQuery;
 import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.AppConfig;
 import com.clb.task_management_system.util.DatabaseUtil;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class TaskDAO {
     
-    private UserDAO userDAO = new UserDAO();
-    private ProjectDAO projectDAO = new ProjectDAO();
+    /** Maximum number of rows sent in one multi-row INSERT by createTasks. */
+    private static final int BULK_INSERT_CHUNK_SIZE = 1000;
     
+    /** Rows fetched per round trip by exportTasks; bounds the driver's memory use during an export. */
+    private static final int EXPORT_FETCH_SIZE = AppConfig.getInt("TASK_EXPORT_FETCH_SIZE", 1000);
+    
+    /**
+     * Selects tasks together with their assignee, creator and project in one round trip.
+     * Related columns are aliased with a_, c_ and p_ prefixes; see mapResultSetToTaskWithRelations.
+     */
+    private static final String TASK_WITH_RELATIONS_SELECT = selectWithRelations("TASKS");
+    
+    /** The same select over archived tasks; see TaskArchiveDAO. */
+    private static final String ARCHIVED_TASK_WITH_RELATIONS_SELECT = selectWithRelations("TASKS_ARCHIVE");
+    
+    private static final String TASK_COLUMNS =
+        "id, title, description, due_date, status, assigned_to, project_id, created_by, created_at, updated_at, version, deleted_at";
+    
+    /** Active and archived tasks together, with an archived flag; used by queries with includeArchived. */
+    private static final String ALL_TASKS_SOURCE =
+        "(SELECT " + TASK_COLUMNS + ", FALSE AS archived FROM TASKS " +
+        "UNION ALL SELECT " + TASK_COLUMNS + ", TRUE AS archived FROM TASKS_ARCHIVE)";
+    
+    // Set or clear the tombstone of a task; a task is in exactly one of the two tables,
+    // so at most one branch changes a row. The version is bumped so that an edit started
+    // before the delete or restore is reported as a conflict.
+    private static final String DELETE_TASK =
+        "WITH active AS (UPDATE TASKS SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND deleted_at IS NULL RETURNING id), " +
+        "archived AS (UPDATE TASKS_ARCHIVE SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND deleted_at IS NULL RETURNING id) " +
+        "SELECT (SELECT COUNT(*) FROM active) + (SELECT COUNT(*) FROM archived) AS changed";
+    
+    private static final String RESTORE_TASK =
+        "WITH active AS (UPDATE TASKS SET deleted_at = NULL, version = version + 1 WHERE id = ? AND deleted_at IS NOT NULL RETURNING id), " +
+        "archived AS (UPDATE TASKS_ARCHIVE SET deleted_at = NULL, version = version + 1 WHERE id = ? AND deleted_at IS NOT NULL RETURNING id) " +
+        "SELECT (SELECT COUNT(*) FROM active) + (SELECT COUNT(*) FROM archived) AS changed";
+    
+    /**
+     * Builds the joined task select over a task source, which is either the TASKS table
+     * or a parenthesized subquery returning TASKS rows.
+     */
+    private static String selectWithRelations(String taskSource) {
+        return "SELECT t.*, " +
+            "a.first_name AS a_first_name, a.last_name AS a_last_name, a.email AS a_email, a.role AS a_role, " +
+            "c.first_name AS c_first_name, c.last_name AS c_last_name, c.email AS c_email, c.role AS c_role, " +
+            "p.name AS p_name, p.description AS p_description, p.start_date AS p_start_date, " +
+            "p.end_date AS p_end_date, p.created_by AS p_created_by " +
+            "FROM " + taskSource + " t " +
+            "LEFT JOIN USERS a ON a.id = t.assigned_to " +
+            "LEFT JOIN USERS c ON c.id = t.created_by " +
+            "LEFT JOIN PROJECTS p ON p.id = t.project_id ";
+    }
+    
+    /**
+     * Gets a task by ID, looking in the archive when it is not an active task.
+     * 
+     * @param id The task ID
+     * @return The task, flagged as archived if it came from the archive, or null if it does not exist or was deleted
+     */
     public Task getTaskById(int id) {
-        String query = "SELECT * FROM TASKS WHERE id = ?";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setInt(1, id);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Task task = mapResultSetToTask(rs);
-                    loadRelatedEntities(task);
-                    return task;
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            Task task = getTaskById(conn, TASK_WITH_RELATIONS_SELECT, id);
+            if (task == null) {
+                task = getTaskById(conn, ARCHIVED_TASK_WITH_RELATIONS_SELECT, id);
+                if (task != null) {
+                    task.setArchived(true);
                 }
             }
+            return task;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -36,39 +95,77 @@ public class TaskDAO {
         return null;
     }
     
-    public List<Task> getAllTasks() {
-        List<Task> tasks = new ArrayList<>();
-        String query = "SELECT * FROM TASKS ORDER BY created_at DESC";
-        
-        try (Connection conn = DatabaseUtil.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+    private Task getTaskById(Connection conn, String select, int id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(select + "WHERE t.id = ? AND t.deleted_at IS NULL")) {
+            stmt.setInt(1, id);
             
-            while (rs.next()) {
-                Task task = mapResultSetToTask(rs);
-                loadRelatedEntities(task);
-                tasks.add(task);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToTaskWithRelations(rs, EntityLoader.current());
+                }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
-        
-        return tasks;
+        return null;
+    }
+    
+    public List<Task> getAllTasks() {
+        return findTasks(new TaskQuery()).getTasks();
     }
     
     public List<Task> getTasksByAssignee(int assigneeId) {
+        TaskQuery query = new TaskQuery();
+        query.setAssigneeId(assigneeId);
+        return findTasks(query).getTasks();
+    }
+    
+    public List<Task> getTasksByCreator(int creatorId) {
+        TaskQuery query = new TaskQuery();
+        query.setCreatorId(creatorId);
+        return findTasks(query).getTasks();
+    }
+    
+    public List<Task> getTasksByProject(int projectId) {
+        TaskQuery query = new TaskQuery();
+        query.setProjectId(projectId);
+        return findTasks(query).getTasks();
+    }
+    
+    /**
+     * Runs a filtered task listing ordered by (created_at DESC, id DESC) using keyset pagination.
+     * All criteria are compiled into one parameterized WHERE clause, so only matching rows
+     * are read and hydrated. One extra row is fetched to find out whether another page follows.
+     * 
+     * @param query The filter, cursor and page size; a limit of 0 returns every matching task
+     * @return The page of tasks
+     */
+    public TaskPage findTasks(TaskQuery query) {
         List<Task> tasks = new ArrayList<>();
-        String query = "SELECT * FROM TASKS WHERE assigned_to = ? ORDER BY created_at DESC";
+        EntityLoader loader = EntityLoader.current();
+        List<Object> params = new ArrayList<>();
+        
+        StringBuilder sql = new StringBuilder();
+        if (query.getVisibleToUserId() != null) {
+            sql.append(selectWithRelations(buildVisibleToSource(query, params)));
+        } else {
+            sql.append(selectWithRelations(taskSource(query))).append(buildWhereClause(query, params));
+        }
+        sql.append("ORDER BY t.created_at DESC, t.id DESC");
+        if (query.getLimit() > 0) {
+            sql.append(" LIMIT ?");
+            params.add(query.getLimit() + 1);
+        }
         
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
             
-            stmt.setInt(1, assigneeId);
+            setParameters(stmt, params);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = mapResultSetToTask(rs);
-                    loadRelatedEntities(task);
+                    Task task = mapResultSetToTaskWithRelations(rs, loader);
+                    if (query.isIncludeArchived()) {
+                        task.setArchived(rs.getBoolean("archived"));
+                    }
                     tasks.add(task);
                 }
             }
@@ -76,61 +173,218 @@ public class TaskDAO {
             e.printStackTrace();
         }
         
-        return tasks;
+        return toPage(tasks, query.getLimit());
     }
     
-    public List<Task> getTasksByCreator(int creatorId) {
-        List<Task> tasks = new ArrayList<>();
-        String query = "SELECT * FROM TASKS WHERE created_by = ? ORDER BY created_at DESC";
+    /**
+     * Streams every task matching a query, ordered by ID, to a sink without collecting them.
+     * The PostgreSQL driver only uses a server-side cursor when autocommit is off and a fetch
+     * size is set; otherwise it reads the whole result into memory before returning the first
+     * row. The export therefore runs in a read-only transaction and fetches
+     * TASK_EXPORT_FETCH_SIZE rows at a time, so memory use does not grow with the table.
+     * The cursor and limit of the query are ignored.
+     * 
+     * @param query The filters to apply
+     * @param sink Receives each task
+     * @return The number of tasks exported
+     * @throws SQLException If the query fails
+     * @throws IOException If the sink fails
+     */
+    public int exportTasks(TaskQuery query, TaskSink sink) throws SQLException, IOException {
+        TaskQuery filter = new TaskQuery(query);
+        filter.setCursor(null);
+        List<Object> params = new ArrayList<>();
+        String sql = selectWithRelations(taskSource(filter)) + buildWhereClause(filter, params) + "ORDER BY t.id";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setInt(1, creatorId);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    Task task = mapResultSetToTask(rs);
-                    loadRelatedEntities(task);
-                    tasks.add(task);
+        // Users and projects are shared between rows, so the loader grows with them, not with tasks
+        EntityLoader loader = new EntityLoader();
+        int count = 0;
+        
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (PreparedStatement stmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(EXPORT_FETCH_SIZE);
+                setParameters(stmt, params);
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Task task = mapResultSetToTaskWithRelations(rs, loader);
+                        if (filter.isIncludeArchived()) {
+                            task.setArchived(rs.getBoolean("archived"));
+                        }
+                        sink.accept(task);
+                        count++;
+                    }
                 }
+                conn.commit();
+            } catch (SQLException | IOException e) {
+                conn.rollback();
+                throw e;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         
-        return tasks;
+        return count;
     }
     
-    public List<Task> getTasksByProject(int projectId) {
-        List<Task> tasks = new ArrayList<>();
-        String query = "SELECT * FROM TASKS WHERE project_id = ? ORDER BY created_at DESC";
+    /**
+     * Counts the tasks matching a query per status with a single GROUP BY, without loading them.
+     * The cursor and limit of the query are ignored.
+     * 
+     * @param query The filters to apply
+     * @return A map from status to number of tasks; statuses without tasks are absent
+     */
+    public Map<String, Integer> countTasksByStatus(TaskQuery query) {
+        Map<String, Integer> counts = new HashMap<>();
+        TaskQuery filter = new TaskQuery(query);
+        filter.setCursor(null);
+        filter.setLimit(0);
+        List<Object> params = new ArrayList<>();
+        
+        StringBuilder sql = new StringBuilder("SELECT t.status, COUNT(*) AS task_count FROM ");
+        if (filter.getVisibleToUserId() != null) {
+            sql.append(buildVisibleToSource(filter, params)).append(" t ");
+        } else {
+            sql.append(taskSource(filter)).append(" t ").append(buildWhereClause(filter, params));
+        }
+        sql.append("GROUP BY t.status");
         
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
             
-            stmt.setInt(1, projectId);
+            setParameters(stmt, params);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Task task = mapResultSetToTask(rs);
-                    loadRelatedEntities(task);
-                    tasks.add(task);
+                    counts.put(rs.getString("status"), rs.getInt("task_count"));
                 }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         
-        return tasks;
+        return counts;
     }
     
+    /**
+     * Compiles the criteria of a query into a WHERE clause over the TASKS alias t,
+     * adding the bind values to params in order. Deleted tasks are excluded unless
+     * the query asks for them alone.
+     */
+    private String buildWhereClause(TaskQuery query, List<Object> params) {
+        StringBuilder where = new StringBuilder(query.isDeleted()
+                ? "WHERE t.deleted_at IS NOT NULL "
+                : "WHERE t.deleted_at IS NULL ");
+        
+        if (query.getStatus() != null) {
+            where.append("AND t.status = ? ");
+            params.add(query.getStatus());
+        }
+        if (query.getProjectId() != null) {
+            where.append("AND t.project_id = ? ");
+            params.add(query.getProjectId());
+        }
+        if (query.getAssigneeId() != null) {
+            where.append("AND t.assigned_to = ? ");
+            params.add(query.getAssigneeId());
+        }
+        if (query.getCreatorId() != null) {
+            where.append("AND t.created_by = ? ");
+            params.add(query.getCreatorId());
+        }
+        if (query.getDueFrom() != null) {
+            where.append("AND t.due_date >= ? ");
+            params.add(query.getDueFrom());
+        }
+        if (query.getDueTo() != null) {
+            where.append("AND t.due_date <= ? ");
+            params.add(query.getDueTo());
+        }
+        if (query.getTaskIds() != null) {
+            where.append("AND t.id = ANY(?) ");
+            params.add(query.getTaskIds().toArray(new Integer[0]));
+        }
+        
+        TaskCursor after = TaskCursor.decode(query.getCursor());
+        if (after != null) {
+            where.append("AND (t.created_at, t.id) < (?, ?) ");
+            params.add(after.getCreatedAt());
+            params.add(after.getId());
+        }
+        
+        return where.toString();
+    }
+    
+    /**
+     * Builds the task source for "assigned to or created by" listings as a UNION of two
+     * branches, each answered by its own (assigned_to | created_by, created_at, id) index
+     * and cut to one page before the union, instead of a single OR that would defeat both indexes.
+     */
+    private String buildVisibleToSource(TaskQuery query, List<Object> params) {
+        StringBuilder source = new StringBuilder("(");
+        String[] columns = {"assigned_to", "created_by"};
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                source.append(" UNION ");
+            }
+            source.append("(SELECT t.* FROM ").append(taskSource(query)).append(" t ")
+                  .append(buildWhereClause(query, params))
+                  .append("AND t.").append(columns[i]).append(" = ? ")
+                  .append("ORDER BY t.created_at DESC, t.id DESC");
+            params.add(query.getVisibleToUserId());
+            if (query.getLimit() > 0) {
+                source.append(" LIMIT ?");
+                params.add(query.getLimit() + 1);
+            }
+            source.append(")");
+        }
+        return source.append(")").toString();
+    }
+    
+    /**
+     * Gets the table a listing reads from: TASKS, or TASKS plus the archive when the
+     * query includes archived tasks. Filters on the union are pushed down into both branches.
+     */
+    private String taskSource(TaskQuery query) {
+        return query.isIncludeArchived() ? ALL_TASKS_SOURCE : "TASKS";
+    }
+    
+    private void setParameters(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+    
+    /**
+     * Trims a result fetched with limit + 1 rows down to the page size and computes the next cursor.
+     */
+    private TaskPage toPage(List<Task> tasks, int limit) {
+        if (limit > 0 && tasks.size() > limit) {
+            List<Task> page = new ArrayList<>(tasks.subList(0, limit));
+            return new TaskPage(page, TaskCursor.after(page.get(limit - 1)).encode());
+        }
+        return new TaskPage(tasks, null);
+    }
+    
+    /**
+     * Inserts a task together with its initial TASK_LOGS row (no old status, the task's
+     * status as new status), atomically in a single statement.
+     * 
+     * @param task The task to create; the creator is recorded as the author of the log row
+     * @return The generated task ID, or -1 if the insert failed
+     */
     public int createTask(Task task) {
-        String query = "INSERT INTO TASKS (title, description, due_date, status, assigned_to, project_id, created_by, created_at, updated_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+        String query = "WITH ins AS (INSERT INTO TASKS (title, description, due_date, status, assigned_to, project_id, " +
+                "created_by, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                "RETURNING id, status, created_by, created_at), " +
+                "log AS (INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                "SELECT id, NULL, status, created_at, created_by FROM ins) " +
+                "SELECT id FROM ins";
         
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             
             stmt.setString(1, task.getTitle());
             stmt.setString(2, task.getDescription());
@@ -146,13 +400,9 @@ public class TaskDAO {
             
             stmt.setInt(7, task.getCreatedBy());
             
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        return generatedKeys.getInt(1);
-                    }
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("id");
                 }
             }
         } catch (SQLException e) {
@@ -162,104 +412,393 @@ public class TaskDAO {
         return -1;
     }
     
-    public boolean updateTask(Task task) {
-        String query = "UPDATE TASKS SET title = ?, description = ?, due_date = ?, status = ?, assigned_to = ?, " +
-                "project_id = ?, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    /**
+     * Inserts many tasks, each with its initial TASK_LOGS row, in one transaction.
+     * Rows are sent as column arrays expanded with unnest, BULK_INSERT_CHUNK_SIZE rows per
+     * statement, so thousands of tasks take a handful of round trips.
+     * The tasks must have been validated; any database error rolls back every row.
+     * 
+     * @param tasks The tasks to create
+     * @return The generated task IDs
+     * @throws SQLException If a database error occurs
+     */
+    public List<Integer> createTasks(List<Task> tasks) throws SQLException {
+        List<Integer> ids = new ArrayList<>(tasks.size());
+        if (tasks.isEmpty()) {
+            return ids;
+        }
+        
+        String query = "WITH ins AS (INSERT INTO TASKS (title, description, due_date, status, assigned_to, project_id, " +
+                "created_by, created_at, updated_at) " +
+                "SELECT r.title, r.description, r.due_date, r.status, r.assigned_to, r.project_id, r.created_by, " +
+                "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+                "FROM unnest(?::varchar[], ?::text[], ?::date[], ?::varchar[], ?::int[], ?::int[], ?::int[]) " +
+                "AS r(title, description, due_date, status, assigned_to, project_id, created_by) " +
+                "RETURNING id, status, created_by, created_at), " +
+                "log AS (INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                "SELECT id, NULL, status, created_at, created_by FROM ins) " +
+                "SELECT id FROM ins";
         
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query)) {
             
-            stmt.setString(1, task.getTitle());
-            stmt.setString(2, task.getDescription());
-            stmt.setDate(3, task.getDueDate());
-            stmt.setString(4, task.getStatus());
-            stmt.setInt(5, task.getAssignedTo());
+            conn.setAutoCommit(false);
+            try {
+                for (int start = 0; start < tasks.size(); start += BULK_INSERT_CHUNK_SIZE) {
+                    List<Task> chunk = tasks.subList(start, Math.min(start + BULK_INSERT_CHUNK_SIZE, tasks.size()));
+                    int size = chunk.size();
+                    String[] titles = new String[size];
+                    String[] descriptions = new String[size];
+                    Date[] dueDates = new Date[size];
+                    String[] statuses = new String[size];
+                    Integer[] assignees = new Integer[size];
+                    Integer[] projects = new Integer[size];
+                    Integer[] creators = new Integer[size];
+                    
+                    for (int i = 0; i < size; i++) {
+                        Task task = chunk.get(i);
+                        titles[i] = task.getTitle();
+                        descriptions[i] = task.getDescription();
+                        dueDates[i] = task.getDueDate();
+                        statuses[i] = task.getStatus();
+                        assignees[i] = task.getAssignedTo();
+                        projects[i] = task.getProjectId() > 0 ? task.getProjectId() : null;
+                        creators[i] = task.getCreatedBy();
+                    }
+                    
+                    stmt.setArray(1, conn.createArrayOf("varchar", titles));
+                    stmt.setArray(2, conn.createArrayOf("text", descriptions));
+                    stmt.setArray(3, conn.createArrayOf("date", dueDates));
+                    stmt.setArray(4, conn.createArrayOf("varchar", statuses));
+                    stmt.setArray(5, conn.createArrayOf("integer", assignees));
+                    stmt.setArray(6, conn.createArrayOf("integer", projects));
+                    stmt.setArray(7, conn.createArrayOf("integer", creators));
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt("id"));
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        
+        return ids;
+    }
+    
+    /**
+     * Changes the status and/or assignee of every task matching a filter with one set-based
+     * statement: the matching rows the actor may edit (admins: all; others: tasks they created
+     * or are assigned to) are locked in ID order, updated together, and one TASK_LOGS row is
+     * inserted per actual status change. Tasks already in the requested state are left untouched.
+     * 
+     * @param filter The tasks to change; cursor, limit and visibleToUserId are ignored
+     * @param newStatus The new status, or null to keep each task's status
+     * @param newAssigneeId The new assignee, or null to keep each task's assignee
+     * @param actorId The ID of the user making the change
+     * @param actorIsAdmin Whether the actor may change any task
+     * @return The IDs of the matching tasks the actor was allowed to change, in ID order, each mapped to
+     *         whether it was actually changed (false: it already had the requested status and assignee)
+     * @throws SQLException If a database error occurs; no task is changed in that case
+     */
+    public Map<Integer, Boolean> bulkUpdateTasks(TaskQuery filter, String newStatus, Integer newAssigneeId,
+                                         int actorId, boolean actorIsAdmin) throws SQLException {
+        TaskQuery where = new TaskQuery(filter);
+        where.setCursor(null);
+        where.setVisibleToUserId(null);
+        where.setDeleted(false);
+        List<Object> params = new ArrayList<>();
+        
+        String sql = "WITH target AS (SELECT t.id, t.status FROM TASKS t " +
+                buildWhereClause(where, params) +
+                "AND (? OR t.created_by = ? OR t.assigned_to = ?) ORDER BY t.id FOR UPDATE), " +
+                "upd AS (UPDATE TASKS t SET status = COALESCE(?::varchar, t.status), " +
+                "assigned_to = COALESCE(?::int, t.assigned_to), updated_at = CURRENT_TIMESTAMP, version = t.version + 1 " +
+                "FROM target WHERE t.id = target.id " +
+                "AND (t.status IS DISTINCT FROM COALESCE(?::varchar, t.status) " +
+                "OR t.assigned_to IS DISTINCT FROM COALESCE(?::int, t.assigned_to)) " +
+                "RETURNING t.id, target.status AS old_status, t.status AS new_status), " +
+                "log AS (INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                "SELECT id, old_status, new_status, CURRENT_TIMESTAMP, ? FROM upd " +
+                "WHERE old_status IS DISTINCT FROM new_status) " +
+                "SELECT target.id, upd.id IS NOT NULL AS changed FROM target LEFT JOIN upd ON upd.id = target.id " +
+                "ORDER BY target.id";
+        params.add(actorIsAdmin);
+        params.add(actorId);
+        params.add(actorId);
+        params.add(newStatus);
+        params.add(newAssigneeId);
+        params.add(newStatus);
+        params.add(newAssigneeId);
+        params.add(actorId);
+        
+        Map<Integer, Boolean> ids = new LinkedHashMap<>();
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < params.size(); i++) {
+                Object param = params.get(i);
+                if (param == null) {
+                    // Untyped nulls; the casts in the statement give them their type
+                    stmt.setNull(i + 1, Types.NULL);
+                } else {
+                    stmt.setObject(i + 1, param);
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getInt("id"), rs.getBoolean("changed"));
+                }
+            }
+        }
+        
+        return ids;
+    }
+    
+    /**
+     * Changes a task's status and records the change in TASK_LOGS in a single statement.
+     * The row is locked while the previous status is read, so concurrent changes are
+     * serialized and each log row holds the status its change actually replaced.
+     * 
+     * @param taskId The task ID
+     * @param newStatus The new status
+     * @param changedBy The ID of the user making the change
+     * @return The previous status, or null if the task does not exist or was deleted
+     * @throws SQLException If a database error occurs; the status is unchanged in that case
+     */
+    public String updateTaskStatus(int taskId, String newStatus, int changedBy) throws SQLException {
+        return updateTaskStatus(taskId, newStatus, changedBy, true);
+    }
+    
+    /**
+     * Changes a task's status like {@link #updateTaskStatus(int, String, int)}, optionally
+     * leaving the TASK_LOGS row to the caller (e.g. to TaskLogWriter).
+     * 
+     * @param taskId The task ID
+     * @param newStatus The new status
+     * @param changedBy The ID of the user making the change
+     * @param writeLog Whether to insert the log row in the same statement
+     * @return The previous status, or null if the task does not exist or was deleted
+     * @throws SQLException If a database error occurs; the status is unchanged in that case
+     */
+    public String updateTaskStatus(int taskId, String newStatus, int changedBy, boolean writeLog) throws SQLException {
+        String query = "WITH old AS (SELECT id, status FROM TASKS WHERE id = ? AND deleted_at IS NULL FOR UPDATE), " +
+                      "upd AS (UPDATE TASKS t SET status = ?, updated_at = CURRENT_TIMESTAMP, version = t.version + 1 FROM old " +
+                      "WHERE t.id = old.id RETURNING t.id, old.status AS old_status, t.status AS new_status), " +
+                      "log AS (INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                      "SELECT id, old_status, new_status, CURRENT_TIMESTAMP, ? FROM upd WHERE ?) " +
+                      "SELECT old_status FROM upd";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            
+            stmt.setInt(1, taskId);
+            stmt.setString(2, newStatus);
+            stmt.setInt(3, changedBy);
+            stmt.setBoolean(4, writeLog);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("old_status");
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Updates a task if it still has the version the caller read, and records a status
+     * change in TASK_LOGS, all in one statement. The previous values are taken from the
+     * statement's snapshot, which is not locked. The UPDATE re-checks the version and the
+     * tombstone against the latest row: every write to a task, including delete and restore,
+     * bumps the version, so a concurrent write makes the edit a conflict rather than
+     * replacing values other than the ones read, and a deleted task is never updated.
+     * 
+     * @param task The new values; its version must be the one the edit started from
+     * @param changedBy The ID of the user making the change
+     * @return The outcome, with the previous status and project on success
+     */
+    public TaskUpdateResult updateTask(Task task, int changedBy) {
+        String query = "WITH old AS (SELECT id, status, project_id, version FROM TASKS WHERE id = ? AND deleted_at IS NULL), " +
+                      "upd AS (UPDATE TASKS t SET title = ?, description = ?, due_date = ?, status = ?, assigned_to = ?, " +
+                      "project_id = ?, updated_at = CURRENT_TIMESTAMP, version = t.version + 1 " +
+                      "FROM old WHERE t.id = old.id AND t.version = ? AND t.deleted_at IS NULL " +
+                      "RETURNING t.id, old.status AS old_status, old.project_id AS old_project_id, " +
+                      "t.status AS new_status, t.version AS new_version), " +
+                      "log AS (INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                      "SELECT id, old_status, new_status, CURRENT_TIMESTAMP, ? FROM upd " +
+                      "WHERE old_status IS DISTINCT FROM new_status) " +
+                      "SELECT old.version AS current_version, upd.old_status, upd.old_project_id, upd.new_version " +
+                      "FROM old LEFT JOIN upd ON TRUE";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            
+            stmt.setInt(1, task.getId());
+            stmt.setString(2, task.getTitle());
+            stmt.setString(3, task.getDescription());
+            stmt.setDate(4, task.getDueDate());
+            stmt.setString(5, task.getStatus());
+            stmt.setInt(6, task.getAssignedTo());
             
             if (task.getProjectId() > 0) {
-                stmt.setInt(6, task.getProjectId());
+                stmt.setInt(7, task.getProjectId());
             } else {
-                stmt.setNull(6, Types.INTEGER);
+                stmt.setNull(7, Types.INTEGER);
             }
             
-            stmt.setInt(7, task.getId());
+            stmt.setInt(8, task.getVersion());
+            stmt.setInt(9, changedBy);
             
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return TaskUpdateResult.notFound();
+                }
+                
+                int newVersion = rs.getInt("new_version");
+                if (rs.wasNull()) {
+                    return TaskUpdateResult.conflict(rs.getInt("current_version"));
+                }
+                return TaskUpdateResult.updated(rs.getString("old_status"), rs.getInt("old_project_id"), newVersion);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return TaskUpdateResult.failed();
         }
     }
     
+    /**
+     * Deletes a task, active or archived, by setting its deleted_at tombstone. The task disappears
+     * from every query at once and no longer counts; TaskPurgeDAO removes it and its logs once the
+     * restore window has passed, so a task with a long history costs the request a single row update.
+     * 
+     * @param taskId The task ID
+     * @return true if the task was deleted, false if it does not exist or was already deleted
+     */
     public boolean deleteTask(int taskId) {
-        Connection conn = null;
-        try {
-            conn = DatabaseUtil.getConnection();
-            conn.setAutoCommit(false);
+        return updateTombstone(DELETE_TASK, taskId);
+    }
+    
+    /**
+     * Restores a deleted task that has not been purged yet.
+     * 
+     * @param taskId The task ID
+     * @return true if the task was restored, false if it is not a deleted task (any more)
+     */
+    public boolean restoreTask(int taskId) {
+        return updateTombstone(RESTORE_TASK, taskId);
+    }
+    
+    private boolean updateTombstone(String query, int taskId) {
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
             
-            // First delete related task logs to avoid foreign key constraint violation
-            String deleteLogsQuery = "DELETE FROM task_logs WHERE task_id = ?";
-            try (PreparedStatement logStmt = conn.prepareStatement(deleteLogsQuery)) {
-                logStmt.setInt(1, taskId);
-                logStmt.executeUpdate();
-            }
+            stmt.setInt(1, taskId);
+            stmt.setInt(2, taskId);
             
-            // Then delete the task
-            String deleteTaskQuery = "DELETE FROM tasks WHERE id = ?";
-            try (PreparedStatement taskStmt = conn.prepareStatement(deleteTaskQuery)) {
-                taskStmt.setInt(1, taskId);
-                int result = taskStmt.executeUpdate();
-                
-                conn.commit();
-                return result > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt("changed") > 0;
             }
         } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException rollbackEx) {
-                    rollbackEx.printStackTrace();
-                }
-            }
             e.printStackTrace();
             return false;
-        } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException closeEx) {
-                    closeEx.printStackTrace();
-                }
-            }
         }
     }
     
     public void loadRelatedEntities(Task task) {
         if (task == null) return;
+        loadRelatedEntities(List.of(task));
+    }
+    
+    /**
+     * Attaches assignee, creator and project to tasks that were loaded without them.
+     * All referenced users and projects are resolved through the request's EntityLoader,
+     * i.e. with at most one query for users and one for projects.
+     * 
+     * @param tasks The tasks to hydrate
+     */
+    public void loadRelatedEntities(List<Task> tasks) {
+        Set<Integer> userIds = new HashSet<>();
+        Set<Integer> projectIds = new HashSet<>();
+        for (Task task : tasks) {
+            userIds.add(task.getAssignedTo());
+            userIds.add(task.getCreatedBy());
+            projectIds.add(task.getProjectId());
+        }
         
         try {
-            // Load assignee
-            if (task.getAssignedTo() > 0) {
-                User assignee = userDAO.getUserById(task.getAssignedTo());
-                task.setAssignee(assignee);
-            }
+            EntityLoader loader = EntityLoader.current();
+            Map<Integer, User> users = loader.loadUsers(userIds);
+            Map<Integer, Project> projects = loader.loadProjects(projectIds);
             
-            // Load creator
-            if (task.getCreatedBy() > 0) {
-                User creator = userDAO.getUserById(task.getCreatedBy());
-                task.setCreator(creator);
-            }
-            
-            // Load project
-            if (task.getProjectId() > 0) {
-                Project project = projectDAO.getProjectById(task.getProjectId());
-                task.setProject(project);
+            for (Task task : tasks) {
+                task.setAssignee(users.get(task.getAssignedTo()));
+                task.setCreator(users.get(task.getCreatedBy()));
+                task.setProject(projects.get(task.getProjectId()));
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
     
+    /**
+     * Maps a row produced by TASK_WITH_RELATIONS_SELECT to a Task with its
+     * assignee, creator and project already attached.
+     */
+    private Task mapResultSetToTaskWithRelations(ResultSet rs, EntityLoader loader) throws SQLException {
+        Task task = mapResultSetToTask(rs);
+        
+        if (task.getAssignedTo() > 0 && rs.getString("a_email") != null) {
+            task.setAssignee(mapJoinedUser(rs, task.getAssignedTo(), "a_", loader));
+        }
+        
+        if (task.getCreatedBy() > 0 && rs.getString("c_email") != null) {
+            task.setCreator(mapJoinedUser(rs, task.getCreatedBy(), "c_", loader));
+        }
+        
+        if (task.getProjectId() > 0 && rs.getString("p_name") != null) {
+            Project project = loader.getLoadedProject(task.getProjectId());
+            if (project == null) {
+                project = new Project();
+                project.setId(task.getProjectId());
+                project.setName(rs.getString("p_name"));
+                project.setDescription(rs.getString("p_description"));
+                project.setStartDate(rs.getDate("p_start_date"));
+                project.setEndDate(rs.getDate("p_end_date"));
+                project.setCreatedBy(rs.getInt("p_created_by"));
+                loader.register(project);
+            }
+            task.setProject(project);
+        }
+        
+        return task;
+    }
+    
+    /**
+     * Returns the request's instance of a joined user, materializing it from the row only
+     * the first time that user is seen.
+     */
+    private User mapJoinedUser(ResultSet rs, int id, String prefix, EntityLoader loader) throws SQLException {
+        User loaded = loader.getLoadedUser(id);
+        if (loaded != null) {
+            return loaded;
+        }
+        
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(rs.getString(prefix + "first_name"));
+        user.setLastName(rs.getString(prefix + "last_name"));
+        user.setEmail(rs.getString(prefix + "email"));
+        user.setRole(rs.getString(prefix + "role"));
+        return loader.register(user);
+    }
+    
     private Task mapResultSetToTask(ResultSet rs) throws SQLException {
         Task task = new Task();
         task.setId(rs.getInt("id"));
@@ -272,6 +811,8 @@ public class TaskDAO {
         task.setCreatedBy(rs.getInt("created_by"));
         task.setCreatedAt(rs.getTimestamp("created_at"));
         task.setUpdatedAt(rs.getTimestamp("updated_at"));
+        task.setVersion(rs.getInt("version"));
+        task.setDeletedAt(rs.getTimestamp("deleted_at"));
         return task;
     }
 }
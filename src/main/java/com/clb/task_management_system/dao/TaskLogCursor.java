@@ -0,0 +1,75 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.TaskLog;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in a task history ordered by (changed_at DESC, id DESC).
+ * A page is fetched with {@code WHERE (changed_at, id) < (?, ?)}, which the
+ * (task_id, changed_at, id) indexes of TASK_LOGS and TASK_LOGS_ARCHIVE answer directly.
+ * Cursors travel through URLs as opaque URL-safe strings.
+ */
+public class TaskLogCursor {
+    private final Timestamp changedAt;
+    private final int id;
+
+    public TaskLogCursor(Timestamp changedAt, int id) {
+        this.changedAt = changedAt;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor pointing just past the given log.
+     *
+     * @param log The last log of a page
+     * @return The cursor for the next page
+     */
+    public static TaskLogCursor after(TaskLog log) {
+        return new TaskLogCursor(log.getChangedAt(), log.getId());
+    }
+
+    public Timestamp getChangedAt() {
+        return changedAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Encodes this cursor for use in a URL.
+     *
+     * @return The encoded cursor
+     */
+    public String encode() {
+        String raw = changedAt.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}.
+     *
+     * @param value The encoded cursor, possibly null or empty
+     * @return The cursor, or null if the value is missing or malformed (i.e. start from the newest log)
+     */
+    public static TaskLogCursor decode(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                return null;
+            }
+            Timestamp changedAt = Timestamp.valueOf(raw.substring(0, separator));
+            int id = Integer.parseInt(raw.substring(separator + 1));
+            return new TaskLogCursor(changedAt, id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
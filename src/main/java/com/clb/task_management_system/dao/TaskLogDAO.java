@@ -2,6 +2,7 @@ package com.clb.task_management_system.dao;
 
 import com.clb.task_management_system.model.Task;
 import com.clb.task_management_system.model.TaskLog;
+import com.clb.task_management_system.model.TaskLogPage;
 import com.clb.task_management_system.model.User;
 import com.clb.task_management_system.util.DatabaseUtil;
 
@@ -11,29 +12,74 @@ import java.util.List;
 
 public class TaskLogDAO {
     
-    private UserDAO userDAO = new UserDAO();
     private TaskDAO taskDAO = new TaskDAO();
     
+    /**
+     * Gets the whole history of a task, newest first. Prefer {@link #getTimeline} when the
+     * task is already loaded or only the latest entries are needed.
+     * 
+     * @param taskId The task ID
+     * @return The logs, each with its changer and the task attached
+     */
     public List<TaskLog> getLogsByTaskId(int taskId) {
+        Task task = taskDAO.getTaskById(taskId);
+        if (task == null) {
+            return new ArrayList<>();
+        }
+        return getTimeline(task, null, 0).getLogs();
+    }
+    
+    /**
+     * Gets one page of a task's history, newest first, ordered by (changed_at DESC, id DESC).
+     * The changer of each entry is joined in the same statement, and the given task is attached
+     * to every entry as is, so a page costs one query however many entries it has.
+     * The logs of an archived task are read from the archive.
+     * 
+     * @param task The task whose history to read
+     * @param cursor The encoded cursor of the page, or null for the latest entries
+     * @param limit The page size; 0 returns the whole history
+     * @return The page of logs
+     */
+    public TaskLogPage getTimeline(Task task, String cursor, int limit) {
         List<TaskLog> logs = new ArrayList<>();
-        String query = "SELECT * FROM TASK_LOGS WHERE task_id = ? ORDER BY changed_at DESC";
+        EntityLoader loader = EntityLoader.current();
+        
+        StringBuilder query = new StringBuilder(
+                "SELECT l.*, u.first_name AS u_first_name, u.last_name AS u_last_name, " +
+                "u.email AS u_email, u.role AS u_role " +
+                "FROM " + (task.isArchived() ? "TASK_LOGS_ARCHIVE" : "TASK_LOGS") + " l " +
+                "LEFT JOIN USERS u ON u.id = l.changed_by " +
+                "WHERE l.task_id = ? ");
+        TaskLogCursor after = TaskLogCursor.decode(cursor);
+        if (after != null) {
+            query.append("AND (l.changed_at, l.id) < (?, ?) ");
+        }
+        query.append("ORDER BY l.changed_at DESC, l.id DESC");
+        if (limit > 0) {
+            query.append(" LIMIT ?");
+        }
         
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
             
-            stmt.setInt(1, taskId);
+            int index = 1;
+            stmt.setInt(index++, task.getId());
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getChangedAt());
+                stmt.setInt(index++, after.getId());
+            }
+            if (limit > 0) {
+                // One extra row tells whether an older page exists
+                stmt.setInt(index, limit + 1);
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     TaskLog log = mapResultSetToTaskLog(rs);
-                    
-                    // Load related entities
-                    User changer = userDAO.getUserById(log.getChangedBy());
-                    log.setChanger(changer);
-                    
-                    Task task = taskDAO.getTaskById(log.getTaskId());
                     log.setTask(task);
-                    
+                    if (rs.getString("u_email") != null) {
+                        log.setChanger(mapChanger(rs, log.getChangedBy(), loader));
+                    }
                     logs.add(log);
                 }
             }
@@ -41,11 +87,16 @@ public class TaskLogDAO {
             e.printStackTrace();
         }
         
-        return logs;
+        if (limit > 0 && logs.size() > limit) {
+            List<TaskLog> page = new ArrayList<>(logs.subList(0, limit));
+            return new TaskLogPage(page, TaskLogCursor.after(page.get(limit - 1)).encode());
+        }
+        return new TaskLogPage(logs, null);
     }
     
     public boolean createTaskLog(TaskLog log) {
-        String query = "INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_by) VALUES (?, ?, ?, ?)";
+        String query = "INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                      "VALUES (?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?)";
         
         try (Connection conn = DatabaseUtil.getConnection();
              PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
@@ -53,7 +104,8 @@ public class TaskLogDAO {
             stmt.setInt(1, log.getTaskId());
             stmt.setString(2, log.getOldStatus());
             stmt.setString(3, log.getNewStatus());
-            stmt.setInt(4, log.getChangedBy());
+            stmt.setTimestamp(4, log.getChangedAt());
+            stmt.setInt(5, log.getChangedBy());
             
             int affectedRows = stmt.executeUpdate();
             
@@ -72,7 +124,38 @@ public class TaskLogDAO {
         return false;
     }
     
-
+    /**
+     * Inserts several logs as one JDBC batch in a single transaction. Generated IDs are not read back.
+     * 
+     * @param logs The logs to insert; a log without a change time gets the current time
+     * @throws SQLException If a database error occurs; no log is inserted in that case
+     */
+    public void createTaskLogs(List<TaskLog> logs) throws SQLException {
+        String query = "INSERT INTO TASK_LOGS (task_id, old_status, new_status, changed_at, changed_by) " +
+                      "VALUES (?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), ?)";
+        
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            
+            conn.setAutoCommit(false);
+            try {
+                for (TaskLog log : logs) {
+                    stmt.setInt(1, log.getTaskId());
+                    stmt.setString(2, log.getOldStatus());
+                    stmt.setString(3, log.getNewStatus());
+                    stmt.setTimestamp(4, log.getChangedAt());
+                    stmt.setInt(5, log.getChangedBy());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+    
     public boolean deleteLogsByTaskId(int taskId) {
         String query = "DELETE FROM TASK_LOGS WHERE task_id = ?";
         
@@ -111,6 +194,25 @@ public class TaskLogDAO {
         }
     }
     
+    /**
+     * Returns the request's instance of a joined changer, materializing it from the row only
+     * the first time that user is seen.
+     */
+    private User mapChanger(ResultSet rs, int id, EntityLoader loader) throws SQLException {
+        User loaded = loader.getLoadedUser(id);
+        if (loaded != null) {
+            return loaded;
+        }
+        
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(rs.getString("u_first_name"));
+        user.setLastName(rs.getString("u_last_name"));
+        user.setEmail(rs.getString("u_email"));
+        user.setRole(rs.getString("u_role"));
+        return loader.register(user);
+    }
+    
     private TaskLog mapResultSetToTaskLog(ResultSet rs) throws SQLException {
         TaskLog log = new TaskLog();
         log.setId(rs.getInt("id"));
@@ -0,0 +1,148 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.util.DatabaseUtil;
+
+import org.postgresql.PGConnection;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintenance of the monthly TASK_LOGS partitions (task_logs_pYYYY_MM, see SchemaMigrator).
+ * Partitions are created ahead of time so inserts never miss one, and months older than the
+ * retention period are detached, exported to a gzipped CSV file and dropped. Dropping a whole
+ * partition costs nothing compared to deleting its rows and leaves no dead tuples to vacuum.
+ */
+public class TaskLogPartitionDAO {
+
+    private static final String PARTITION_PATTERN = "^task_logs_p[0-9]{4}_[0-9]{2}$";
+
+    /**
+     * Creates the partitions for the current month and the following months, where missing.
+     * Logs that landed in the default partition meanwhile (because no monthly partition existed)
+     * are moved into the new partitions; any left there are reported.
+     *
+     * @param monthsAhead The number of future months to cover
+     * @return The number of partitions created
+     * @throws SQLException If a database error occurs
+     */
+    public int ensurePartitions(int monthsAhead) throws SQLException {
+        String query = "SELECT ensure_task_log_partitions(CURRENT_TIMESTAMP, " +
+                "CURRENT_TIMESTAMP + make_interval(months => ?))";
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            int created;
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setInt(1, monthsAhead);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    created = rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM task_logs_default")) {
+                if (rs.next() && rs.getLong(1) > 0) {
+                    System.out.println("TaskLogPartitionDAO: " + rs.getLong(1) +
+                            " logs are in task_logs_default, outside the monthly partitions");
+                }
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Archives every partition that ended more than the given number of months ago.
+     * Each partition is detached, written to {@code <directory>/<partition>-<timestamp>.csv.gz} and
+     * then dropped. The timestamp keeps the archives apart when a month is archived more than once,
+     * e.g. after an import with old dates recreated its partition. A partition left detached by an
+     * interrupted run is picked up by the next run.
+     *
+     * @param retentionMonths The number of past months to keep, in addition to the current one; at least 1
+     * @param directory The directory receiving the archive files
+     * @return The names of the archived partitions
+     * @throws SQLException If a database error occurs; partitions archived so far stay archived
+     * @throws IOException If an archive file cannot be written; the partition is kept
+     */
+    public List<String> archivePartitions(int retentionMonths, File directory) throws SQLException, IOException {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("retentionMonths must be at least 1");
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create archive directory " + directory);
+        }
+
+        // Old attached partitions, plus detached ones left behind by an interrupted run
+        String query = "SELECT c.relname, c.relispartition FROM pg_class c " +
+                "WHERE c.relkind = 'r' AND c.relname ~ ? AND pg_table_is_visible(c.oid) " +
+                "AND (NOT c.relispartition OR to_date(substring(c.relname from 12), 'YYYY_MM') + INTERVAL '1 month' " +
+                "<= date_trunc('month', CURRENT_TIMESTAMP) - make_interval(months => ?)) " +
+                "ORDER BY c.relname";
+
+        List<String> archived = new ArrayList<>();
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            List<String> names = new ArrayList<>();
+            List<Boolean> attached = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                stmt.setString(1, PARTITION_PATTERN);
+                stmt.setInt(2, retentionMonths);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        names.add(rs.getString("relname"));
+                        attached.add(rs.getBoolean("relispartition"));
+                    }
+                }
+            }
+
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i);
+                try (Statement stmt = conn.createStatement()) {
+                    if (attached.get(i)) {
+                        stmt.execute("ALTER TABLE TASK_LOGS DETACH PARTITION " + name);
+                    }
+                    long rows = export(conn, name, directory);
+                    stmt.execute("DROP TABLE " + name);
+                    System.out.println("TaskLogPartitionDAO: Archived " + rows + " logs of " + name);
+                }
+                archived.add(name);
+            }
+        }
+
+        return archived;
+    }
+
+    /**
+     * Writes a table to a gzipped CSV file with a header line. The file is written under a
+     * temporary name and then renamed to a name no other archive has; an existing archive file
+     * is never replaced, the export fails instead and the partition is kept.
+     */
+    private long export(Connection conn, String table, File directory) throws SQLException, IOException {
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File target = new File(directory, table + "-" + stamp + ".csv.gz");
+        for (int sequence = 1; target.exists(); sequence++) {
+            target = new File(directory, table + "-" + stamp + "-" + sequence + ".csv.gz");
+        }
+        File temp = new File(directory, target.getName() + ".tmp");
+
+        long rows;
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), 64 * 1024)) {
+            rows = conn.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut("COPY " + table + " TO STDOUT WITH (FORMAT csv, HEADER)", out);
+        }
+        // Without REPLACE_EXISTING the move fails rather than overwrite a file created meanwhile
+        Files.move(temp.toPath(), target.toPath());
+        return rows;
+    }
+}
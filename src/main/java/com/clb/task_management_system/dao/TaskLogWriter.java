@@ -0,0 +1,274 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.TaskLog;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind writer for TASK_LOGS rows.
+ * Logs are queued in memory and inserted by a background thread in JDBC batches of up to
+ * {@code batchSize} rows, flushed as soon as a batch is full or {@code maxDelayMs} after
+ * its first row was queued. When the queue is full, {@link #submit} blocks the caller for
+ * up to {@code enqueueTimeoutMs} and then writes the log synchronously, so logs are never
+ * dropped while the application is running. A batch the database rejects is retried and then
+ * written row by row, so only the logs that cannot be inserted at all (e.g. for a task deleted
+ * meanwhile) are skipped, and each is reported.
+ *
+ * <p>Queued logs are lost if the JVM dies before they are flushed, and a log becomes
+ * visible shortly after the status change it records rather than with it. That is why the
+ * writer is disabled by default; AppLifecycleListener starts it when TASK_LOG_WRITE_BEHIND
+ * is set and flushes it on shutdown.</p>
+ */
+public class TaskLogWriter {
+
+    private static volatile TaskLogWriter instance;
+
+    private final BlockingQueue<TaskLog> queue;
+    private final int batchSize;
+    private final long maxDelayMs;
+    private final long enqueueTimeoutMs;
+    private final TaskLogDAO taskLogDAO = new TaskLogDAO();
+    private final Thread thread;
+    private volatile boolean running = true;
+    /** Held shared by submit around its check of running and the offer, and exclusively to stop. */
+    private final ReadWriteLock stopLock = new ReentrantReadWriteLock();
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder synchronousWrites = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    private TaskLogWriter(int capacity, int batchSize, long maxDelayMs, long enqueueTimeoutMs) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayMs = maxDelayMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.thread = new Thread(this::run, "task-log-writer");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer. Calling it again while running has no effect.
+     *
+     * @param capacity The maximum number of queued logs
+     * @param batchSize The maximum number of logs per INSERT batch
+     * @param maxDelayMs The maximum time a log waits in the queue before its batch is flushed
+     * @param enqueueTimeoutMs How long submit waits for room in a full queue before writing synchronously
+     */
+    public static synchronized void start(int capacity, int batchSize, long maxDelayMs, long enqueueTimeoutMs) {
+        if (instance != null) {
+            return;
+        }
+        TaskLogWriter writer = new TaskLogWriter(capacity, batchSize, maxDelayMs, enqueueTimeoutMs);
+        writer.thread.start();
+        instance = writer;
+        System.out.println("TaskLogWriter: Started with capacity " + capacity + ", batch size " + batchSize);
+    }
+
+    /**
+     * Gets the running writer.
+     *
+     * @return The writer, or null if write-behind is not enabled
+     */
+    public static TaskLogWriter get() {
+        return instance;
+    }
+
+    /**
+     * Stops the writer after flushing every queued log. Logs the writer thread has not
+     * flushed within the timeout are written on the caller's thread.
+     *
+     * @param timeoutMs How long to wait for the final flush
+     */
+    public static synchronized void shutdown(long timeoutMs) {
+        TaskLogWriter writer = instance;
+        if (writer == null) {
+            return;
+        }
+        instance = null;
+        // No interrupt: it could abort a flush in progress; the thread sees the flag within maxDelayMs.
+        // Once the flag is set under the lock, no submit can queue another log.
+        writer.stopLock.writeLock().lock();
+        try {
+            writer.running = false;
+        } finally {
+            writer.stopLock.writeLock().unlock();
+        }
+        try {
+            writer.thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!writer.queue.isEmpty()) {
+            System.out.println("TaskLogWriter: Writing " + writer.queue.size() + " logs left in the queue at shutdown");
+            List<TaskLog> batch = new ArrayList<>(writer.batchSize);
+            while (writer.queue.drainTo(batch, writer.batchSize) > 0) {
+                writer.flush(batch);
+            }
+        }
+        System.out.println("TaskLogWriter: Stopped, " + writer);
+    }
+
+    /**
+     * Queues a log for insertion. The change time is fixed now, not when the log is flushed.
+     *
+     * @param log The log to write
+     */
+    public void submit(TaskLog log) {
+        if (log.getChangedAt() == null) {
+            log.setChangedAt(new Timestamp(System.currentTimeMillis()));
+        }
+
+        stopLock.readLock().lock();
+        try {
+            if (running && queue.offer(log, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopLock.readLock().unlock();
+        }
+
+        // Queue full or writer stopping: fall back to writing on the caller's thread
+        synchronousWrites.increment();
+        if (!taskLogDAO.createTaskLog(log)) {
+            failed.increment();
+        }
+    }
+
+    private void run() {
+        List<TaskLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskLog first = running ? queue.poll(maxDelayMs, TimeUnit.MILLISECONDS) : queue.poll();
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                while (running && batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    TaskLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+
+            if (!running) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            flush(batch);
+        }
+    }
+
+    private void flush(List<TaskLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            writeBatch(batch);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            batches.increment();
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes a batch, retrying it once (e.g. after a lost connection or serialization failure).
+     * If it still fails, one bad row (say, a log for a task purged or archived meanwhile) must not
+     * take the others down with it: the logs are inserted one at a time and only those the database
+     * rejects are skipped, each reported with its content.
+     */
+    private void writeBatch(List<TaskLog> batch) {
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                taskLogDAO.createTaskLogs(batch);
+                written.add(batch.size());
+                return;
+            } catch (SQLException e) {
+                System.out.println("TaskLogWriter: Failed to write " + batch.size() + " logs (attempt " + attempt + "): " +
+                        e.getMessage());
+            }
+        }
+
+        for (TaskLog log : batch) {
+            if (taskLogDAO.createTaskLog(log)) {
+                written.increment();
+            } else {
+                failed.increment();
+                System.out.println("TaskLogWriter: Skipped log for task " + log.getTaskId() + " (" + log.getOldStatus() +
+                        " -> " + log.getNewStatus() + " by user " + log.getChangedBy() + " at " + log.getChangedAt() + ")");
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Gets the number of logs that could not be written.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the number of logs written on the caller's thread because the queue was full.
+     */
+    public long getSynchronousWriteCount() {
+        return synchronousWrites.sum();
+    }
+
+    public double getAverageFlushMillis() {
+        long count = batches.sum();
+        return count == 0 ? 0 : flushNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queued=%d, written=%d, batches=%d, failed=%d, synchronous=%d, avgFlushMs=%.2f, maxFlushMs=%.2f",
+                getQueueDepth(), getWrittenCount(), getBatchCount(), getFailedCount(),
+                getSynchronousWriteCount(), getAverageFlushMillis(), getMaxFlushMillis());
+    }
+}
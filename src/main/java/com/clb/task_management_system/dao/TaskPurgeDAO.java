@@ -0,0 +1,74 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.util.DatabaseUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Physically removes deleted tasks. TaskDAO.deleteTask only sets a task's deleted_at tombstone,
+ * which hides it at once; the task and its logs stay in place, restorable, for the retention
+ * period, after which this purger deletes them in small batches, typically off-peak.
+ */
+public class TaskPurgeDAO {
+
+    // One batch: lock expired tombstones (skipping rows a restore is changing) and delete them with
+    // their logs. Foreign keys are checked at the end of the statement, when the logs are gone as well.
+    private static final String PURGE_BATCH =
+            "WITH target AS (SELECT id FROM TASKS " +
+            "WHERE deleted_at < CURRENT_TIMESTAMP - make_interval(days => ?) " +
+            "ORDER BY deleted_at, id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "purged_logs AS (DELETE FROM TASK_LOGS l USING target WHERE l.task_id = target.id RETURNING 1), " +
+            "purged_tasks AS (DELETE FROM TASKS t USING target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM purged_tasks) AS task_count, (SELECT COUNT(*) FROM purged_logs) AS log_count";
+
+    private static final String PURGE_ARCHIVED_BATCH =
+            "WITH target AS (SELECT id FROM TASKS_ARCHIVE " +
+            "WHERE deleted_at < CURRENT_TIMESTAMP - make_interval(days => ?) " +
+            "ORDER BY deleted_at, id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "purged_logs AS (DELETE FROM TASK_LOGS_ARCHIVE l USING target WHERE l.task_id = target.id RETURNING 1), " +
+            "purged_tasks AS (DELETE FROM TASKS_ARCHIVE t USING target WHERE t.id = target.id RETURNING 1) " +
+            "SELECT (SELECT COUNT(*) FROM purged_tasks) AS task_count, (SELECT COUNT(*) FROM purged_logs) AS log_count";
+
+    /**
+     * Purges the tasks, active and archived, that were deleted longer ago than the retention period.
+     * Tasks are removed in batches, each in its own short transaction, and the purge stops at the
+     * deadline so it does not run into busy hours; the next run continues where it stopped.
+     *
+     * @param retentionDays The number of days a deleted task can still be restored
+     * @param batchSize The number of tasks removed per transaction
+     * @param deadline The time (in milliseconds since the epoch) after which no new batch is started
+     * @return The number of tasks purged
+     * @throws SQLException If a database error occurs
+     */
+    public int purgeDeletedTasks(int retentionDays, int batchSize, long deadline) throws SQLException {
+        int purgedTasks = 0;
+        int purgedLogs = 0;
+
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            for (String query : new String[] {PURGE_BATCH, PURGE_ARCHIVED_BATCH}) {
+                try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                    stmt.setInt(1, retentionDays);
+                    stmt.setInt(2, batchSize);
+
+                    int purged;
+                    do {
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            rs.next();
+                            purged = rs.getInt("task_count");
+                            purgedLogs += rs.getInt("log_count");
+                        }
+                        purgedTasks += purged;
+                    } while (purged == batchSize && System.currentTimeMillis() < deadline);
+                }
+            }
+        }
+
+        if (purgedTasks > 0) {
+            System.out.println("TaskPurgeDAO: Purged " + purgedTasks + " deleted tasks with " + purgedLogs + " logs");
+        }
+        return purgedTasks;
+    }
+}
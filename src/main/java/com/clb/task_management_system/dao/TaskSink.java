@@ -0,0 +1,20 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.Task;
+
+import java.io.IOException;
+
+/**
+ * Receives the tasks streamed by {@link TaskDAO#exportTasks}, one at a time.
+ * A task must not be kept after accept returns; the caller is expected to write it out.
+ */
+public interface TaskSink {
+
+    /**
+     * Handles one task.
+     *
+     * @param task The task with its assignee, creator and project attached
+     * @throws IOException If writing the task fails; the export is aborted
+     */
+    void accept(Task task) throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.clb.task_management_system.dao;
+
+/**
+ * Outcome of TaskDAO.updateTask, a conditional update on the task's version.
+ */
+public class TaskUpdateResult {
+
+    public enum Outcome {
+        /** The task was updated. */
+        UPDATED,
+        /** The task was changed by someone else since the given version was read. */
+        CONFLICT,
+        /** The task does not exist. */
+        NOT_FOUND,
+        /** The update failed with a database error. */
+        FAILED
+    }
+
+    private final Outcome outcome;
+    private final String oldStatus;
+    private final int oldProjectId;
+    private final int version;
+
+    private TaskUpdateResult(Outcome outcome, String oldStatus, int oldProjectId, int version) {
+        this.outcome = outcome;
+        this.oldStatus = oldStatus;
+        this.oldProjectId = oldProjectId;
+        this.version = version;
+    }
+
+    static TaskUpdateResult updated(String oldStatus, int oldProjectId, int newVersion) {
+        return new TaskUpdateResult(Outcome.UPDATED, oldStatus, oldProjectId, newVersion);
+    }
+
+    static TaskUpdateResult conflict(int currentVersion) {
+        return new TaskUpdateResult(Outcome.CONFLICT, null, 0, currentVersion);
+    }
+
+    static TaskUpdateResult notFound() {
+        return new TaskUpdateResult(Outcome.NOT_FOUND, null, 0, 0);
+    }
+
+    static TaskUpdateResult failed() {
+        return new TaskUpdateResult(Outcome.FAILED, null, 0, 0);
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isUpdated() {
+        return outcome == Outcome.UPDATED;
+    }
+
+    /**
+     * Gets the status before the update, when it succeeded.
+     */
+    public String getOldStatus() {
+        return oldStatus;
+    }
+
+    /**
+     * Gets the project ID before the update (0 for none), when it succeeded.
+     */
+    public int getOldProjectId() {
+        return oldProjectId;
+    }
+
+    /**
+     * Gets the new version after a successful update, or the current version on a conflict.
+     */
+    public int getVersion() {
+        return version;
+    }
+}
@@ -1,20 +1,72 @@
 package com.clb.task_management_system.dao;
 
 import com.clb.task_management_system.model.User;
+import com.clb.task_management_system.util.AppConfig;
 import com.clb.task_management_system.util.DatabaseUtil;
+import com.clb.task_management_system.util.ExpiringLruCache;
 import at.favre.lib.crypto.bcrypt.BCrypt;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Data Access Object for User entity.
  * This class handles all database operations related to users.
  * Part of the Model component in MVC architecture.
+ *
+ * <p>Users read by ID or email are cached in memory, shared by every instance of this class.
+ * Callers always receive copies, so they may modify them freely. updateUser, updatePassword
+ * and deleteUser invalidate the affected entry; changes made by other application instances
+ * become visible once the entry expires (USER_CACHE_TTL_SECONDS).</p>
  */
 public class UserDAO {
     
+    private static final ExpiringLruCache<Integer, User> CACHE = new ExpiringLruCache<>(
+            AppConfig.getInt("USER_CACHE_MAX_SIZE", 1000),
+            AppConfig.getLong("USER_CACHE_TTL_SECONDS", 300) * 1000L);
+    
+    /** Email to user ID, for the entries in CACHE; checked against the cached user on every lookup. */
+    private static final Map<String, Integer> EMAIL_INDEX = new ConcurrentHashMap<>();
+    
+    /**
+     * Incremented on every invalidation and user creation. A value read from the database is only cached if
+     * no invalidation happened while it was being read, so a concurrent update cannot be
+     * overwritten by the stale row.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+    
+    /**
+     * Held by invalidate and cacheAndCopy, so that an invalidation cannot slip in between the
+     * generation check and the put and leave the stale row cached.
+     */
+    private static final Object CACHE_LOCK = new Object();
+    
+    /**
+     * Gets a number that changes whenever a user is created, updated or deleted through this
+     * application instance, for caches derived from the user list.
+     * 
+     * @return The current version
+     */
+    public static long getVersion() {
+        return GENERATION.get();
+    }
+    
+    /**
+     * Gets the user cache, e.g. to report its hit and miss counts.
+     * 
+     * @return The cache shared by all UserDAO instances
+     */
+    public static ExpiringLruCache<Integer, User> getCache() {
+        return CACHE;
+    }
+    
     /**
      * Retrieves a user by their ID.
      * 
@@ -23,6 +75,12 @@ public class UserDAO {
      * @throws SQLException If a database error occurs
      */
     public User getUserById(int id) throws SQLException {
+        User cached = CACHE.get(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+        
+        long generation = GENERATION.get();
         String sql = "SELECT * FROM USERS WHERE id = ?";
         
         try (Connection conn = DatabaseUtil.getConnection();
@@ -32,7 +90,7 @@ public class UserDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    return cacheAndCopy(mapResultSetToUser(rs), generation);
                 }
             }
         }
@@ -40,6 +98,46 @@ public class UserDAO {
         return null;
     }
     
+    /**
+     * Retrieves several users with a single query.
+     *
+     * @param ids The user IDs
+     * @return The users that exist, in no particular order
+     * @throws SQLException If a database error occurs
+     */
+    public List<User> getUsersByIds(Collection<Integer> ids) throws SQLException {
+        List<User> users = new ArrayList<>();
+        Set<Integer> missing = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            User cached = CACHE.get(id);
+            if (cached != null) {
+                users.add(copy(cached));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return users;
+        }
+
+        long generation = GENERATION.get();
+        String sql = "SELECT * FROM USERS WHERE id = ANY(?)";
+
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setArray(1, conn.createArrayOf("integer", missing.toArray()));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(cacheAndCopy(mapResultSetToUser(rs), generation));
+                }
+            }
+        }
+
+        return users;
+    }
+
     /**
      * Retrieves a user by their email.
      * 
@@ -48,6 +146,29 @@ public class UserDAO {
      * @throws SQLException If a database error occurs
      */
     public User getUserByEmail(String email) throws SQLException {
+        Integer cachedId = email != null ? EMAIL_INDEX.get(email) : null;
+        if (cachedId != null) {
+            User cached = CACHE.get(cachedId);
+            if (cached != null && email.equals(cached.getEmail())) {
+                return copy(cached);
+            }
+            EMAIL_INDEX.remove(email, cachedId);
+        }
+        
+        return getUserByEmailUncached(email);
+    }
+    
+    /**
+     * Retrieves a user by their email from the database, bypassing the cache, and refreshes
+     * the cached copy. Used for login, so that a password change or deletion made through
+     * another application instance takes effect immediately.
+     * 
+     * @param email The user's email
+     * @return The User object if found, null otherwise
+     * @throws SQLException If a database error occurs
+     */
+    public User getUserByEmailUncached(String email) throws SQLException {
+        long generation = GENERATION.get();
         String sql = "SELECT * FROM USERS WHERE email = ?";
         
         try (Connection conn = DatabaseUtil.getConnection();
@@ -57,7 +178,7 @@ public class UserDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    return cacheAndCopy(mapResultSetToUser(rs), generation);
                 }
             }
         }
@@ -94,6 +215,7 @@ public class UserDAO {
                 if (generatedKeys.next()) {
                     int id = generatedKeys.getInt(1);
                     user.setId(id);
+                    GENERATION.incrementAndGet();
                     return id;
                 } else {
                     throw new SQLException("Creating user failed, no ID obtained.");
@@ -123,6 +245,8 @@ public class UserDAO {
             
             int affectedRows = stmt.executeUpdate();
             return affectedRows > 0;
+        } finally {
+            invalidate(user.getId());
         }
     }
     
@@ -146,6 +270,8 @@ public class UserDAO {
             
             int affectedRows = stmt.executeUpdate();
             return affectedRows > 0;
+        } finally {
+            invalidate(userId);
         }
     }
     
@@ -166,6 +292,8 @@ public class UserDAO {
             
             int affectedRows = stmt.executeUpdate();
             return affectedRows > 0;
+        } finally {
+            invalidate(userId);
         }
     }
     
@@ -191,6 +319,43 @@ public class UserDAO {
         return users;
     }
     
+    /**
+     * Removes a user from the cache. Called after every write to the USERS row,
+     * whether or not the write succeeded.
+     * 
+     * @param userId The ID of the user
+     */
+    private static void invalidate(int userId) {
+        synchronized (CACHE_LOCK) {
+            GENERATION.incrementAndGet();
+            User removed = CACHE.remove(userId);
+            if (removed != null && removed.getEmail() != null) {
+                EMAIL_INDEX.remove(removed.getEmail(), userId);
+            }
+        }
+    }
+    
+    /**
+     * Caches a user just read from the database, unless it was invalidated meanwhile,
+     * and returns a copy for the caller.
+     */
+    private static User cacheAndCopy(User user, long generation) {
+        synchronized (CACHE_LOCK) {
+            if (GENERATION.get() == generation) {
+                CACHE.put(user.getId(), user);
+                if (user.getEmail() != null) {
+                    EMAIL_INDEX.put(user.getEmail(), user.getId());
+                }
+            }
+        }
+        return copy(user);
+    }
+    
+    private static User copy(User user) {
+        return new User(user.getId(), user.getFirstName(), user.getLastName(),
+                user.getEmail(), user.getPassword(), user.getRole());
+    }
+    
     /**
      * Maps a ResultSet to a User object.
      * 
@@ -21,7 +21,7 @@ public class AuthFilter implements Filter {
     
     // List of paths that require admin role
     private static final List<String> ADMIN_PATHS = Arrays.asList(
-            "/admin", "/users", "/project/create", "/project/edit", "/project/delete"
+            "/admin", "/users", "/import", "/project/create", "/project/edit", "/project/delete"
     );
     
     @Override
@@ -0,0 +1,36 @@
+package com.clb.task_management_system.filter;
+
+import com.clb.task_management_system.dao.EntityLoader;
+
+import jakarta.servlet.*;
+
+import java.io.IOException;
+
+/**
+ * Opens a per-request EntityLoader scope so that users and projects referenced
+ * while building a page are batch-loaded and shared for the rest of the request.
+ * Configured in web.xml ahead of the other filters.
+ */
+public class RequestScopeFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // Nothing to initialize
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        EntityLoader.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            EntityLoader.end();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Nothing to clean up
+    }
+}
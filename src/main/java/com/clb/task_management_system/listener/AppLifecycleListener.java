@@ -0,0 +1,170 @@
+package com.clb.task_management_system.listener;
+
+import com.clb.task_management_system.dao.TaskArchiveDAO;
+import com.clb.task_management_system.dao.TaskCountDAO;
+import com.clb.task_management_system.dao.TaskLogPartitionDAO;
+import com.clb.task_management_system.dao.TaskLogWriter;
+import com.clb.task_management_system.dao.TaskPurgeDAO;
+import com.clb.task_management_system.dao.UserDAO;
+import com.clb.task_management_system.util.AppConfig;
+import com.clb.task_management_system.util.BackgroundJobs;
+import com.clb.task_management_system.util.DatabaseUtil;
+import com.clb.task_management_system.util.SchemaMigrator;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application startup and shutdown hooks, configured in web.xml.
+ * Brings the database schema up to date before any servlet handles a request,
+ * schedules the maintenance jobs, and stops them and releases pooled connections
+ * when the application is undeployed.
+ */
+public class AppLifecycleListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        try {
+            SchemaMigrator.migrate();
+        } catch (SQLException e) {
+            // Refuse to start against a schema the DAOs do not match
+            throw new IllegalStateException("Database migration failed", e);
+        }
+        
+        // Make sure this month's TASK_LOGS partition exists before the first request writes a log
+        TaskLogPartitionDAO partitionDAO = new TaskLogPartitionDAO();
+        int monthsAhead = AppConfig.getInt("TASK_LOG_PARTITION_MONTHS_AHEAD", 3);
+        try {
+            partitionDAO.ensurePartitions(monthsAhead);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        
+        if (AppConfig.getBoolean("TASK_LOG_WRITE_BEHIND", false)) {
+            TaskLogWriter.start(
+                    AppConfig.getInt("TASK_LOG_QUEUE_CAPACITY", 10000),
+                    AppConfig.getInt("TASK_LOG_BATCH_SIZE", 500),
+                    AppConfig.getLong("TASK_LOG_MAX_DELAY_MS", 200),
+                    AppConfig.getLong("TASK_LOG_ENQUEUE_TIMEOUT_MS", 1000));
+        }
+        
+        BackgroundJobs.start();
+        
+        // Safety net for the trigger-maintained task counters; 0 disables the check
+        int verifyMinutes = AppConfig.getInt("TASK_COUNT_VERIFY_INTERVAL_MINUTES", 60);
+        if (verifyMinutes > 0) {
+            TaskCountDAO taskCountDAO = new TaskCountDAO();
+            BackgroundJobs.schedule("verifyTaskCounts", () -> {
+                try {
+                    int repaired = taskCountDAO.verifyAndRepair();
+                    if (repaired > 0) {
+                        System.out.println("AppLifecycleListener: Repaired " + repaired + " task counter rows");
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }, verifyMinutes, TimeUnit.MINUTES);
+        }
+        
+        // Future TASK_LOGS partitions, and archival of months older than the retention; 0 keeps all history
+        int retentionMonths = AppConfig.getInt("TASK_LOG_RETENTION_MONTHS", 0);
+        File archiveDirectory = new File(AppConfig.getString("TASK_LOG_ARCHIVE_DIR", "task-log-archive"));
+        BackgroundJobs.schedule("maintainTaskLogPartitions", () -> {
+            try {
+                int created = partitionDAO.ensurePartitions(monthsAhead);
+                if (created > 0) {
+                    System.out.println("AppLifecycleListener: Created " + created + " task log partitions");
+                }
+                if (retentionMonths > 0) {
+                    partitionDAO.archivePartitions(retentionMonths, archiveDirectory);
+                }
+            } catch (SQLException | IOException e) {
+                e.printStackTrace();
+            }
+        }, AppConfig.getInt("TASK_LOG_PARTITION_INTERVAL_HOURS", 24), TimeUnit.HOURS);
+        
+        // Cold storage for old Completed tasks; 0 keeps every task in TASKS
+        int archiveAfterDays = AppConfig.getInt("TASK_ARCHIVE_AFTER_DAYS", 0);
+        if (archiveAfterDays > 0) {
+            TaskArchiveDAO taskArchiveDAO = new TaskArchiveDAO();
+            int batchSize = AppConfig.getInt("TASK_ARCHIVE_BATCH_SIZE", 1000);
+            BackgroundJobs.schedule("archiveCompletedTasks", () -> {
+                try {
+                    taskArchiveDAO.archiveCompletedTasks(archiveAfterDays, batchSize);
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }, AppConfig.getInt("TASK_ARCHIVE_INTERVAL_HOURS", 24), TimeUnit.HOURS);
+        }
+        
+        // Deleted tasks stay restorable for the retention period, then are purged during the off-peak window
+        TaskPurgeDAO taskPurgeDAO = new TaskPurgeDAO();
+        int retentionDays = AppConfig.getInt("TASK_DELETE_RETENTION_DAYS", 7);
+        int purgeBatchSize = AppConfig.getInt("TASK_PURGE_BATCH_SIZE", 200);
+        int windowStartHour = AppConfig.getInt("TASK_PURGE_WINDOW_START_HOUR", 1);
+        int windowEndHour = AppConfig.getInt("TASK_PURGE_WINDOW_END_HOUR", 5);
+        BackgroundJobs.schedule("purgeDeletedTasks", () -> {
+            long deadline = purgeDeadline(windowStartHour, windowEndHour);
+            if (deadline < 0) {
+                return;
+            }
+            try {
+                taskPurgeDAO.purgeDeletedTasks(retentionDays, purgeBatchSize, deadline);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }, AppConfig.getInt("TASK_PURGE_INTERVAL_MINUTES", 30), TimeUnit.MINUTES);
+        
+        // Write-behind metrics; 0 disables the report
+        int metricsMinutes = AppConfig.getInt("TASK_LOG_METRICS_INTERVAL_MINUTES", 5);
+        if (TaskLogWriter.get() != null && metricsMinutes > 0) {
+            BackgroundJobs.schedule("reportTaskLogWriter", () -> {
+                TaskLogWriter writer = TaskLogWriter.get();
+                if (writer != null) {
+                    System.out.println("AppLifecycleListener: Task log writer " + writer);
+                }
+            }, metricsMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Gets the end of the current purge window, which runs from the start hour to the end hour
+     * (local time) and may wrap past midnight; equal hours mean no window.
+     *
+     * @return The end of the window in milliseconds since the epoch, or -1 outside the window
+     */
+    private static long purgeDeadline(int startHour, int endHour) {
+        if (startHour == endHour) {
+            return Long.MAX_VALUE;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int hour = now.getHour();
+        boolean inWindow = startHour < endHour
+                ? hour >= startHour && hour < endHour
+                : hour >= startHour || hour < endHour;
+        if (!inWindow) {
+            return -1;
+        }
+        LocalDateTime end = now.toLocalDate().atTime(endHour, 0);
+        if (!end.isAfter(now)) {
+            end = end.plusDays(1);
+        }
+        return end.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        BackgroundJobs.shutdown();
+        // Before the pool closes, so queued task logs can still be written
+        TaskLogWriter.shutdown(AppConfig.getLong("TASK_LOG_SHUTDOWN_TIMEOUT_MS", 10000));
+        System.out.println("AppLifecycleListener: User cache " + UserDAO.getCache());
+        DatabaseUtil.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package com.clb.task_management_system.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a bulk operation: how many items succeeded, and why the others did not.
+ * Errors are keyed by the item's position in the input (e.g. its CSV line number)
+ * or by its ID when the input is a set of IDs.
+ */
+public class BulkResult {
+    private int successCount;
+    private int unchangedCount;
+    private final Map<Integer, String> rowErrors = new LinkedHashMap<>();
+    private String generalError;
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    /**
+     * Gets the number of items that needed no change, e.g. tasks that already had the requested status.
+     */
+    public int getUnchangedCount() {
+        return unchangedCount;
+    }
+
+    public void setUnchangedCount(int unchangedCount) {
+        this.unchangedCount = unchangedCount;
+    }
+
+    /**
+     * Gets the per-item errors in input order.
+     */
+    public Map<Integer, String> getRowErrors() {
+        return rowErrors;
+    }
+
+    public void addRowError(int row, String message) {
+        rowErrors.put(row, message);
+    }
+
+    public int getErrorCount() {
+        return rowErrors.size();
+    }
+
+    /**
+     * Gets an error that prevented the whole operation, or null.
+     */
+    public String getGeneralError() {
+        return generalError;
+    }
+
+    public void setGeneralError(String generalError) {
+        this.generalError = generalError;
+    }
+}
@@ -0,0 +1,55 @@
+package com.clb.task_management_system.model;
+
+/**
+ * Outcome of deleting a project: whether the project was found, and how many of its
+ * tasks (active and archived) and task logs were deleted or detached along with it.
+ */
+public class ProjectDeleteResult {
+
+    /**
+     * What happens to the tasks of a deleted project.
+     */
+    public enum TaskHandling {
+        /** The tasks and their logs are deleted with the project. */
+        DELETE,
+        /** The tasks are kept without a project. */
+        DETACH
+    }
+
+    private boolean projectDeleted;
+    private int tasksDeleted;
+    private int tasksDetached;
+    private int logsDeleted;
+
+    public boolean isProjectDeleted() {
+        return projectDeleted;
+    }
+
+    public void setProjectDeleted(boolean projectDeleted) {
+        this.projectDeleted = projectDeleted;
+    }
+
+    public int getTasksDeleted() {
+        return tasksDeleted;
+    }
+
+    public void addTasksDeleted(int count) {
+        this.tasksDeleted += count;
+    }
+
+    public int getTasksDetached() {
+        return tasksDetached;
+    }
+
+    public void addTasksDetached(int count) {
+        this.tasksDetached += count;
+    }
+
+    public int getLogsDeleted() {
+        return logsDeleted;
+    }
+
+    public void addLogsDeleted(int count) {
+        this.logsDeleted += count;
+    }
+}
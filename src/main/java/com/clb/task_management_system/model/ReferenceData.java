@@ -0,0 +1,42 @@
+package com.clb.task_management_system.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the users and projects offered in the task form dropdowns.
+ * One instance is shared by every request until users or projects change, so the
+ * objects it holds must only be read. Users carry no password hash.
+ */
+public class ReferenceData {
+    private final long version;
+    private final List<User> users;
+    private final List<Project> projects;
+
+    public ReferenceData(long version, List<User> users, List<Project> projects) {
+        this.version = version;
+        this.users = Collections.unmodifiableList(users);
+        this.projects = Collections.unmodifiableList(projects);
+    }
+
+    /**
+     * Gets the snapshot version; it increases every time the snapshot is rebuilt.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the users, ordered by ID, with only their ID, name, email and role.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Gets the projects, ordered by name, with only their ID, name and dates.
+     */
+    public List<Project> getProjects() {
+        return projects;
+    }
+}
@@ -14,6 +14,9 @@ public class Task {
     private int createdBy;
     private Timestamp createdAt;
     private Timestamp updatedAt;
+    private int version;
+    private boolean archived;
+    private Timestamp deletedAt;
     
     // Additional fields for displaying related data
     private User assignee;
@@ -116,6 +119,39 @@ public class Task {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Gets the row version, incremented by every update; used to detect concurrent edits.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    /**
+     * Gets whether the task was loaded from the archive; archived tasks are read-only.
+     */
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    /**
+     * Gets when the task was deleted, or null; deleted tasks can be restored until they are purged.
+     */
+    public Timestamp getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Timestamp deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
     public User getAssignee() {
         return assignee;
     }
@@ -139,4 +175,20 @@ public class Task {
     public void setProject(Project project) {
         this.project = project;
     }
+
+    /**
+     * Tasks are equal when they have the same database ID.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Task)) return false;
+        Task other = (Task) o;
+        return id > 0 && id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
 }
@@ -0,0 +1,44 @@
+package com.clb.task_management_system.model;
+
+import java.util.List;
+
+/**
+ * One page of a task's history, newest first, plus the cursor needed to fetch older entries.
+ */
+public class TaskLogPage {
+    private List<TaskLog> logs;
+    private String nextCursor;
+
+    public TaskLogPage() {
+    }
+
+    public TaskLogPage(List<TaskLog> logs, String nextCursor) {
+        this.logs = logs;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskLog> getLogs() {
+        return logs;
+    }
+
+    public void setLogs(List<TaskLog> logs) {
+        this.logs = logs;
+    }
+
+    /**
+     * Gets the cursor of the next (older) page.
+     *
+     * @return The encoded cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.clb.task_management_system.model;
+
+import java.util.List;
+
+/**
+ * One page of a task listing, plus the cursor needed to fetch the next page.
+ */
+public class TaskPage {
+    private List<Task> tasks;
+    private String nextCursor;
+
+    public TaskPage() {
+    }
+
+    public TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * Gets the cursor of the next page.
+     *
+     * @return The encoded cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+}
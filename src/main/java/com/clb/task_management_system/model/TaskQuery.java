@@ -0,0 +1,167 @@
+package com.clb.task_management_system.model;
+
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Criteria for a task listing. Every criterion left null is not applied.
+ * TaskDAO compiles the criteria into a single parameterized WHERE clause, so
+ * filtering happens in the database and only matching rows are hydrated.
+ */
+public class TaskQuery {
+    private String status;
+    private Integer projectId;
+    private Integer assigneeId;
+    private Integer creatorId;
+    private Integer visibleToUserId;
+    private Date dueFrom;
+    private Date dueTo;
+    private List<Integer> taskIds;
+    private boolean includeArchived;
+    private boolean deleted;
+    private String cursor;
+    private int limit;
+
+    public TaskQuery() {
+    }
+
+    /**
+     * Creates a copy of another query.
+     *
+     * @param other The query to copy
+     */
+    public TaskQuery(TaskQuery other) {
+        this.status = other.status;
+        this.projectId = other.projectId;
+        this.assigneeId = other.assigneeId;
+        this.creatorId = other.creatorId;
+        this.visibleToUserId = other.visibleToUserId;
+        this.dueFrom = other.dueFrom;
+        this.dueTo = other.dueTo;
+        this.taskIds = other.taskIds;
+        this.includeArchived = other.includeArchived;
+        this.deleted = other.deleted;
+        this.cursor = other.cursor;
+        this.limit = other.limit;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Integer assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Integer getCreatorId() {
+        return creatorId;
+    }
+
+    public void setCreatorId(Integer creatorId) {
+        this.creatorId = creatorId;
+    }
+
+    /**
+     * Gets the user whose tasks are listed, i.e. tasks assigned to or created by that user.
+     */
+    public Integer getVisibleToUserId() {
+        return visibleToUserId;
+    }
+
+    public void setVisibleToUserId(Integer visibleToUserId) {
+        this.visibleToUserId = visibleToUserId;
+    }
+
+    /**
+     * Gets the earliest due date to include (inclusive).
+     */
+    public Date getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(Date dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    /**
+     * Gets the latest due date to include (inclusive).
+     */
+    public Date getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(Date dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    /**
+     * Gets the IDs the tasks must be among, e.g. the tasks selected for a bulk operation.
+     */
+    public List<Integer> getTaskIds() {
+        return taskIds;
+    }
+
+    public void setTaskIds(List<Integer> taskIds) {
+        this.taskIds = taskIds;
+    }
+
+    /**
+     * Gets whether archived tasks (TASKS_ARCHIVE) are listed along with the active ones.
+     */
+    public boolean isIncludeArchived() {
+        return includeArchived;
+    }
+
+    public void setIncludeArchived(boolean includeArchived) {
+        this.includeArchived = includeArchived;
+    }
+
+    /**
+     * Gets whether deleted tasks, awaiting their purge, are listed instead of the live ones.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    /**
+     * Gets the encoded cursor returned with the previous page, or null for the first page.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Gets the page size; 0 means no limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
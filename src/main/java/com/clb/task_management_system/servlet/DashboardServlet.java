@@ -3,7 +3,8 @@ package com.clb.task_management_system.servlet;
 import com.clb.task_management_system.controller.ProjectController;
 import com.clb.task_management_system.controller.TaskController;
 import com.clb.task_management_system.model.Project;
-import com.clb.task_management_system.model.Task;
+import com.clb.task_management_system.model.TaskPage;
+import com.clb.task_management_system.model.TaskQuery;
 import com.clb.task_management_system.model.User;
 
 import jakarta.servlet.ServletException;
@@ -25,6 +26,9 @@ import java.util.Map;
 @WebServlet(name = "dashboardServlet", urlPatterns = {"/dashboard"})
 public class DashboardServlet extends HttpServlet {
     
+    /** Number of tasks shown in each of the dashboard's task lists; "View All" links to the full, filtered list */
+    private static final int RECENT_TASK_LIMIT = 10;
+    
     private TaskController taskController;
     private ProjectController projectController;
     
@@ -45,16 +49,38 @@ public class DashboardServlet extends HttpServlet {
         }
         
         try {
-            // Get tasks assigned to current user
-            List<Task> assignedTasks = taskController.getTasksByAssignee(currentUser.getId());
-            request.setAttribute("assignedTasks", assignedTasks);
+            // Handle project filter if specified; it is applied by the database
+            Integer projectFilter = null;
+            String projectId = request.getParameter("project");
+            if (projectId != null && !projectId.isEmpty()) {
+                try {
+                    projectFilter = Integer.parseInt(projectId);
+                    request.setAttribute("projectFilter", projectFilter);
+                } catch (NumberFormatException e) {
+                    // Invalid project ID, ignore filter
+                }
+            }
+            
+            // Get the most recent tasks assigned to current user
+            TaskQuery assignedQuery = new TaskQuery();
+            assignedQuery.setAssigneeId(currentUser.getId());
+            assignedQuery.setProjectId(projectFilter);
+            assignedQuery.setLimit(RECENT_TASK_LIMIT);
+            TaskPage assignedPage = taskController.findTasks(assignedQuery);
+            request.setAttribute("assignedTasks", assignedPage.getTasks());
+            request.setAttribute("assignedHasMore", assignedPage.isHasMore());
             
-            // Get tasks created by current user
-            List<Task> createdTasks = taskController.getTasksByCreator(currentUser.getId());
-            request.setAttribute("createdTasks", createdTasks);
+            // Get the most recent tasks created by current user
+            TaskQuery createdQuery = new TaskQuery();
+            createdQuery.setCreatorId(currentUser.getId());
+            createdQuery.setProjectId(projectFilter);
+            createdQuery.setLimit(RECENT_TASK_LIMIT);
+            TaskPage createdPage = taskController.findTasks(createdQuery);
+            request.setAttribute("createdTasks", createdPage.getTasks());
+            request.setAttribute("createdHasMore", createdPage.isHasMore());
             
-            // Calculate task statistics
-            Map<String, Integer> taskStats = calculateTaskStats(assignedTasks);
+            // Task statistics cover all assigned tasks, regardless of the project filter
+            Map<String, Integer> taskStats = calculateTaskStats(taskController.getAssignedTaskCounts(currentUser.getId()));
             request.setAttribute("taskStats", taskStats);
             
             // If user is admin, get all projects
@@ -63,25 +89,6 @@ public class DashboardServlet extends HttpServlet {
                 request.setAttribute("projects", projects);
             }
             
-            // Handle project filter if specified
-            String projectId = request.getParameter("project");
-            if (projectId != null && !projectId.isEmpty()) {
-                try {
-                    int pid = Integer.parseInt(projectId);
-                    if (assignedTasks != null) {
-                        assignedTasks.removeIf(task -> task.getProjectId() != pid);
-                        request.setAttribute("assignedTasks", assignedTasks);
-                    }
-                    if (createdTasks != null) {
-                        createdTasks.removeIf(task -> task.getProjectId() != pid);
-                        request.setAttribute("createdTasks", createdTasks);
-                    }
-                    request.setAttribute("projectFilter", pid);
-                } catch (NumberFormatException e) {
-                    // Invalid project ID, ignore filter
-                }
-            }
-            
             request.getRequestDispatcher("/WEB-INF/views/dashboard.jsp").forward(request, response);
         } catch (Exception e) {
             e.printStackTrace();
@@ -111,33 +118,15 @@ public class DashboardServlet extends HttpServlet {
     }
     
     /**
-     * Calculate task statistics for the dashboard.
+     * Calculate task statistics for the dashboard from per-status counts.
      */
-    private Map<String, Integer> calculateTaskStats(List<Task> tasks) {
+    private Map<String, Integer> calculateTaskStats(Map<String, Integer> statusCounts) {
         Map<String, Integer> stats = new HashMap<>();
-        int totalTasks = 0;
-        int todoTasks = 0;
-        int inProgressTasks = 0;
-        int completedTasks = 0;
-        
-        if (tasks != null) {
-            totalTasks = tasks.size();
-            for (Task task : tasks) {
-                switch (task.getStatus()) {
-                    case "Pending":
-                        todoTasks++;
-                        break;
-                    case "In Progress":
-                        inProgressTasks++;
-                        break;
-                    case "Completed":
-                        completedTasks++;
-                        break;
-                }
-            }
-        }
+        int todoTasks = statusCounts.getOrDefault("Pending", 0);
+        int inProgressTasks = statusCounts.getOrDefault("In Progress", 0);
+        int completedTasks = statusCounts.getOrDefault("Completed", 0);
         
-        stats.put("totalTasks", totalTasks);
+        stats.put("totalTasks", todoTasks + inProgressTasks + completedTasks);
         stats.put("todoTasks", todoTasks);
         stats.put("inProgressTasks", inProgressTasks);
         stats.put("completedTasks", completedTasks);
@@ -0,0 +1,98 @@
+package com.clb.task_management_system.servlet;
+
+import com.clb.task_management_system.controller.ImportController;
+import com.clb.task_management_system.model.BulkResult;
+import com.clb.task_management_system.model.User;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.Part;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Admin page for importing projects and tasks from CSV or NDJSON files.
+ * Uploads are spooled to disk by the container and read from there as a stream.
+ */
+@WebServlet(name = "importServlet", urlPatterns = {"/import"})
+@MultipartConfig(maxFileSize = 1024L * 1024 * 1024, maxRequestSize = 1025L * 1024 * 1024)
+public class ImportServlet extends HttpServlet {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private ImportController importController;
+    
+    @Override
+    public void init() throws ServletException {
+        importController = new ImportController();
+    }
+    
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        User currentUser = getAdmin(request, response);
+        if (currentUser == null) {
+            return;
+        }
+        request.getRequestDispatcher("/WEB-INF/views/import.jsp").forward(request, response);
+    }
+    
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+        User currentUser = getAdmin(request, response);
+        if (currentUser == null) {
+            return;
+        }
+        
+        String type = request.getParameter("type");
+        Part file = request.getContentType() != null && request.getContentType().startsWith("multipart/")
+                ? request.getPart("file") : null;
+        
+        if (file == null || file.getSize() == 0) {
+            request.setAttribute("errorMessage", "Please choose a file to import");
+        } else {
+            String format = ImportController.FORMAT_NDJSON.equals(request.getParameter("format"))
+                    ? ImportController.FORMAT_NDJSON : ImportController.FORMAT_CSV;
+            BulkResult result;
+            try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+                if ("projects".equals(type)) {
+                    result = importController.importProjects(reader, format, currentUser.getId());
+                } else {
+                    result = importController.importTasks(reader, format, currentUser.getId());
+                }
+            }
+            request.setAttribute("result", result);
+        }
+        
+        request.getRequestDispatcher("/WEB-INF/views/import.jsp").forward(request, response);
+    }
+    
+    /**
+     * Gets the logged-in admin, redirecting anyone else away.
+     *
+     * @return The admin, or null if the request has been redirected
+     */
+    private User getAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession();
+        User currentUser = (User) session.getAttribute("user");
+        
+        if (currentUser == null) {
+            response.sendRedirect(request.getContextPath() + "/auth?action=showLogin");
+            return null;
+        }
+        
+        if (!"admin".equalsIgnoreCase(currentUser.getRole())) {
+            response.sendRedirect(request.getContextPath() + "/dashboard");
+            return null;
+        }
+        return currentUser;
+    }
+}
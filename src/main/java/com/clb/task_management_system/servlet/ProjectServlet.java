@@ -4,6 +4,7 @@ import com.clb.task_management_system.controller.ProjectController;
 import com.clb.task_management_system.controller.TaskController;
 import com.clb.task_management_system.controller.UserController;
 import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ProjectDeleteResult;
 import com.clb.task_management_system.model.Task;
 import com.clb.task_management_system.model.User;
 
@@ -238,12 +239,21 @@ public class ProjectServlet extends HttpServlet {
         if (pathInfo != null && pathInfo.length() > 1) {
             try {
                 int projectId = Integer.parseInt(pathInfo.substring(1));
-                boolean success = projectController.deleteProject(projectId);
+                ProjectDeleteResult.TaskHandling handling = "detach".equals(request.getParameter("tasks"))
+                        ? ProjectDeleteResult.TaskHandling.DETACH
+                        : ProjectDeleteResult.TaskHandling.DELETE;
+                ProjectDeleteResult result = projectController.deleteProject(projectId, handling);
                 
-                if (success) {
-                    request.getSession().setAttribute("successMessage", "Project deleted successfully");
-                } else {
+                if (result == null) {
                     request.getSession().setAttribute("errorMessage", "Failed to delete project");
+                } else if (!result.isProjectDeleted()) {
+                    request.getSession().setAttribute("errorMessage", "Project not found");
+                } else if (handling == ProjectDeleteResult.TaskHandling.DETACH) {
+                    request.getSession().setAttribute("successMessage", "Project deleted successfully; " +
+                            result.getTasksDetached() + " tasks kept without a project");
+                } else {
+                    request.getSession().setAttribute("successMessage", "Project deleted successfully with " +
+                            result.getTasksDeleted() + " tasks and " + result.getLogsDeleted() + " task log entries");
                 }
             } catch (NumberFormatException e) {
                 request.getSession().setAttribute("errorMessage", "Invalid project ID");
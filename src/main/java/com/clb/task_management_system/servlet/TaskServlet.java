@@ -1,38 +1,71 @@
 package com.clb.task_management_system.servlet;
 
 import com.clb.task_management_system.controller.ProjectController;
+import com.clb.task_management_system.controller.ReferenceDataController;
 import com.clb.task_management_system.controller.TaskController;
 import com.clb.task_management_system.controller.UserController;
+import com.clb.task_management_system.model.BulkResult;
 import com.clb.task_management_system.model.Project;
+import com.clb.task_management_system.model.ReferenceData;
 import com.clb.task_management_system.model.Task;
-import com.clb.task_management_system.model.TaskLog;
+import com.clb.task_management_system.model.TaskLogPage;
+import com.clb.task_management_system.model.TaskPage;
+import com.clb.task_management_system.model.TaskQuery;
 import com.clb.task_management_system.model.User;
 
 import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.Part;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-@WebServlet(name = "taskServlet", urlPatterns = {"/tasks", "/task/create", "/task/edit/*", "/task/delete/*", "/task/view/*", "/task/status/*"})
+@WebServlet(name = "taskServlet", urlPatterns = {"/tasks", "/task/create", "/task/bulk", "/task/bulk-update", "/task/export", "/task/edit/*", "/task/delete/*", "/task/restore/*", "/task/view/*", "/task/status/*"})
+@MultipartConfig(maxFileSize = 20 * 1024 * 1024, maxRequestSize = 21 * 1024 * 1024)
 public class TaskServlet extends HttpServlet {
     
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    
+    /** Number of history entries shown on the task page, and added by each "load more". */
+    private static final int LOG_PAGE_SIZE = 20;
+    
     private TaskController taskController;
     private ProjectController projectController;
     private UserController userController;
+    private ReferenceDataController referenceDataController;
+    private int pageSize;
     
     @Override
     public void init() throws ServletException {
         taskController = new TaskController();
         projectController = new ProjectController();
         userController = new UserController();
+        referenceDataController = new ReferenceDataController();
+        
+        // Page size of the task list, configurable through the taskPageSize context parameter
+        pageSize = DEFAULT_PAGE_SIZE;
+        String configuredPageSize = getServletContext().getInitParameter("taskPageSize");
+        if (configuredPageSize != null) {
+            try {
+                pageSize = Math.max(1, Integer.parseInt(configuredPageSize.trim()));
+            } catch (NumberFormatException e) {
+                // Keep the default page size
+            }
+        }
     }
     
     @Override
@@ -59,6 +92,14 @@ public class TaskServlet extends HttpServlet {
                     request.getRequestDispatcher("/WEB-INF/views/task/create.jsp").forward(request, response);
                     break;
                     
+                case "/task/bulk":
+                    request.getRequestDispatcher("/WEB-INF/views/task/bulk.jsp").forward(request, response);
+                    break;
+                    
+                case "/task/export":
+                    handleExport(request, response, currentUser);
+                    break;
+                    
                 case "/task/view":
                     handleViewTask(request, response, pathInfo, currentUser);
                     break;
@@ -75,6 +116,10 @@ public class TaskServlet extends HttpServlet {
                     handleDeleteTask(request, response, pathInfo, currentUser);
                     break;
                     
+                case "/task/restore":
+                    handleRestoreTask(request, response, pathInfo, currentUser);
+                    break;
+                    
                 default:
                     response.sendRedirect(request.getContextPath() + "/tasks");
                     break;
@@ -88,53 +133,113 @@ public class TaskServlet extends HttpServlet {
     
     private void handleListTasks(HttpServletRequest request, HttpServletResponse response, User currentUser) 
             throws ServletException, IOException {
-        // Get filter parameters
         String statusFilter = request.getParameter("status");
         String projectFilter = request.getParameter("project");
         
-        // Get tasks based on user role and filters
-        List<Task> tasks = new ArrayList<>();
+        TaskQuery query = buildFilterQuery(request);
+        query.setCursor(request.getParameter("cursor"));
+        query.setLimit(pageSize);
+        
+        // Get one page of tasks based on user role
+        TaskPage page;
         if (currentUser.getRole().equalsIgnoreCase("admin")) {
-            tasks = taskController.getAllTasks();
+            page = taskController.findTasks(query);
         } else {
-            // Get tasks where user is either creator or assignee
-            List<Task> assignedTasks = taskController.getTasksByAssignee(currentUser.getId());
-            List<Task> createdTasks = taskController.getTasksByCreator(currentUser.getId());
-            
-            // Combine and remove duplicates
-            tasks.addAll(assignedTasks);
-            for (Task task : createdTasks) {
-                if (!tasks.contains(task)) {
-                    tasks.add(task);
-                }
-            }
-        }
-        
-        // Apply filters
-        if (statusFilter != null && !statusFilter.isEmpty()) {
-            tasks.removeIf(task -> !task.getStatus().equals(statusFilter));
-        }
-        
-        if (projectFilter != null && !projectFilter.isEmpty()) {
-            try {
-                int projectId = Integer.parseInt(projectFilter);
-                tasks.removeIf(task -> task.getProjectId() != projectId);
-            } catch (NumberFormatException e) {
-                // Invalid project ID, ignore filter
-            }
+            // Tasks where user is either creator or assignee
+            page = taskController.findTasksForUser(currentUser.getId(), query);
         }
+        List<Task> tasks = page.getTasks();
         
         // Get projects for filter dropdown
         List<Project> projects = projectController.getAllProjects();
         
         request.setAttribute("tasks", tasks);
+        request.setAttribute("nextCursor", page.getNextCursor());
         request.setAttribute("projects", projects);
+        request.setAttribute("users", referenceDataController.getTaskFormData().getUsers());
         request.setAttribute("statusFilter", statusFilter);
         request.setAttribute("projectFilter", projectFilter);
         
         request.getRequestDispatcher("/WEB-INF/views/task/list.jsp").forward(request, response);
     }
     
+    /**
+     * Builds the task filter from the list page's status, project, assignee, creator, dueFrom, dueTo,
+     * includeArchived and deleted parameters; the database applies it. Malformed values are ignored.
+     */
+    private TaskQuery buildFilterQuery(HttpServletRequest request) {
+        TaskQuery query = new TaskQuery();
+        String statusFilter = request.getParameter("status");
+        if (statusFilter != null && !statusFilter.isEmpty()) {
+            query.setStatus(statusFilter);
+        }
+        query.setProjectId(parseId(request.getParameter("project")));
+        query.setAssigneeId(parseId(request.getParameter("assignee")));
+        query.setCreatorId(parseId(request.getParameter("creator")));
+        query.setDueFrom(parseDate(request.getParameter("dueFrom")));
+        query.setDueTo(parseDate(request.getParameter("dueTo")));
+        query.setIncludeArchived("true".equals(request.getParameter("includeArchived")));
+        query.setDeleted("true".equals(request.getParameter("deleted")));
+        return query;
+    }
+    
+    private Integer parseId(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private Date parseDate(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return Date.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Streams the tasks matching the list filters as CSV (default) or NDJSON (format=ndjson).
+     * Admins only. Rows are written as they are read, so the response is never buffered whole.
+     */
+    private void handleExport(HttpServletRequest request, HttpServletResponse response, User currentUser) 
+            throws IOException {
+        if (!"admin".equalsIgnoreCase(currentUser.getRole())) {
+            response.sendRedirect(request.getContextPath() + "/tasks");
+            return;
+        }
+        
+        String format = TaskController.EXPORT_NDJSON.equals(request.getParameter("format"))
+                ? TaskController.EXPORT_NDJSON : TaskController.EXPORT_CSV;
+        response.setCharacterEncoding("UTF-8");
+        if (TaskController.EXPORT_NDJSON.equals(format)) {
+            response.setContentType("application/x-ndjson");
+        } else {
+            response.setContentType("text/csv");
+        }
+        response.setHeader("Content-Disposition", "attachment; filename=\"tasks." + format + "\"");
+        
+        int exported = taskController.exportTasks(buildFilterQuery(request), format, response.getWriter());
+        if (exported < 0) {
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "The export failed");
+            } else {
+                // Headers are already sent; the truncated download is all the client can get
+                System.out.println("TaskServlet: Export aborted after the response was committed");
+            }
+            return;
+        }
+        response.flushBuffer();
+    }
+    
     private void handleViewTask(HttpServletRequest request, HttpServletResponse response, String pathInfo, User currentUser) 
             throws ServletException, IOException {
         if (pathInfo != null && pathInfo.length() > 1) {
@@ -148,10 +253,14 @@ public class TaskServlet extends HttpServlet {
                                     task.getAssignedTo() == currentUser.getId();
                     
                     if (canView) {
-                        List<TaskLog> logs = taskController.getTaskLogs(taskId);
+                        TaskLogPage logPage = taskController.getTaskTimeline(task, request.getParameter("logCursor"), LOG_PAGE_SIZE);
                         request.setAttribute("task", task);
-                        request.setAttribute("logs", logs);
-                        request.getRequestDispatcher("/WEB-INF/views/task/view.jsp").forward(request, response);
+                        request.setAttribute("logs", logPage.getLogs());
+                        request.setAttribute("logPage", logPage);
+                        // "Load more" fetches only the entries, to append them to the page
+                        String view = "logs".equals(request.getParameter("fragment"))
+                                ? "/WEB-INF/views/task/log-entries.jsp" : "/WEB-INF/views/task/view.jsp";
+                        request.getRequestDispatcher(view).forward(request, response);
                         return;
                     }
                 }
@@ -169,6 +278,12 @@ public class TaskServlet extends HttpServlet {
                 int taskId = Integer.parseInt(pathInfo.substring(1));
                 Task task = taskController.getTaskById(taskId);
                 
+                if (task != null && task.isArchived()) {
+                    // Archived tasks are read-only
+                    response.sendRedirect(request.getContextPath() + "/task/view/" + taskId);
+                    return;
+                }
+                
                 if (task != null) {
                     boolean canEdit = currentUser.getRole().equalsIgnoreCase("admin") || 
                                     task.getCreatedBy() == currentUser.getId() || 
@@ -195,6 +310,12 @@ public class TaskServlet extends HttpServlet {
                 int taskId = Integer.parseInt(pathInfo.substring(1));
                 Task task = taskController.getTaskById(taskId);
                 
+                if (task != null && task.isArchived()) {
+                    // Archived tasks are read-only
+                    response.sendRedirect(request.getContextPath() + "/task/view/" + taskId);
+                    return;
+                }
+                
                 if (task != null) {
                     boolean canUpdateStatus = currentUser.getRole().equalsIgnoreCase("admin") || 
                                            task.getCreatedBy() == currentUser.getId() || 
@@ -214,10 +335,9 @@ public class TaskServlet extends HttpServlet {
     }
     
     private void prepareTaskForm(HttpServletRequest request) {
-        List<User> users = userController.getAllUsers();
-        List<Project> projects = projectController.getAllProjects();
-        request.setAttribute("users", users);
-        request.setAttribute("projects", projects);
+        ReferenceData referenceData = referenceDataController.getTaskFormData();
+        request.setAttribute("users", referenceData.getUsers());
+        request.setAttribute("projects", referenceData.getProjects());
     }
     
     @Override
@@ -239,6 +359,14 @@ public class TaskServlet extends HttpServlet {
                     handleCreateTask(request, response, currentUser);
                     break;
                     
+                case "/task/bulk":
+                    handleBulkCreate(request, response, currentUser);
+                    break;
+                    
+                case "/task/bulk-update":
+                    handleBulkUpdate(request, response, currentUser);
+                    break;
+                    
                 case "/task/edit":
                     handleEditTaskPost(request, response, pathInfo, currentUser);
                     break;
@@ -294,6 +422,68 @@ public class TaskServlet extends HttpServlet {
         }
     }
     
+    private void handleBulkCreate(HttpServletRequest request, HttpServletResponse response, User currentUser) 
+            throws ServletException, IOException {
+        // An uploaded file takes precedence over pasted text
+        Part file = request.getContentType() != null && request.getContentType().startsWith("multipart/")
+                ? request.getPart("file") : null;
+        BulkResult result;
+        if (file != null && file.getSize() > 0) {
+            try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+                result = taskController.createTasksFromCsv(reader, currentUser.getId());
+            }
+        } else {
+            String csv = request.getParameter("csv");
+            result = taskController.createTasksFromCsv(new StringReader(csv != null ? csv : ""), currentUser.getId());
+        }
+        
+        request.setAttribute("result", result);
+        request.getRequestDispatcher("/WEB-INF/views/task/bulk.jsp").forward(request, response);
+    }
+    
+    private void handleBulkUpdate(HttpServletRequest request, HttpServletResponse response, User currentUser) 
+            throws IOException {
+        // Either the checked tasks, or every task matching the list filters
+        TaskQuery filter = buildFilterQuery(request);
+        if (!"filter".equals(request.getParameter("scope"))) {
+            TaskQuery selected = new TaskQuery();
+            List<Integer> taskIds = new ArrayList<>();
+            String[] values = request.getParameterValues("taskIds");
+            if (values != null) {
+                for (String value : values) {
+                    Integer taskId = parseId(value);
+                    if (taskId != null) {
+                        taskIds.add(taskId);
+                    }
+                }
+            }
+            selected.setTaskIds(taskIds);
+            filter = selected;
+        }
+        
+        String newStatus = request.getParameter("newStatus");
+        BulkResult result = taskController.bulkUpdateTasks(filter,
+                newStatus != null && !newStatus.isEmpty() ? newStatus : null,
+                parseId(request.getParameter("newAssignee")),
+                currentUser);
+        
+        StringBuilder redirect = new StringBuilder(request.getContextPath()).append("/tasks?");
+        for (String name : new String[] {"status", "project", "assignee", "creator", "dueFrom", "dueTo"}) {
+            String value = request.getParameter(name);
+            if (value != null && !value.isEmpty()) {
+                redirect.append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        }
+        if (result.getGeneralError() != null) {
+            redirect.append("bulkError=").append(URLEncoder.encode(result.getGeneralError(), StandardCharsets.UTF_8));
+        } else {
+            redirect.append("bulkUpdated=").append(result.getSuccessCount())
+                    .append("&bulkUnchanged=").append(result.getUnchangedCount())
+                    .append("&bulkSkipped=").append(result.getErrorCount());
+        }
+        response.sendRedirect(redirect.toString());
+    }
+    
     private void handleEditTaskPost(HttpServletRequest request, HttpServletResponse response, String pathInfo, User currentUser) 
             throws ServletException, IOException {
         if (pathInfo != null && pathInfo.length() > 1) {
@@ -320,6 +510,11 @@ public class TaskServlet extends HttpServlet {
                             task.setProjectId(Integer.parseInt(projectIdStr));
                         }
                         
+                        // Version the form was rendered with; forms opened before versioning start from the current one
+                        String versionStr = request.getParameter("version");
+                        task.setVersion(versionStr != null && !versionStr.trim().isEmpty()
+                                ? Integer.parseInt(versionStr) : existingTask.getVersion());
+                        
                         Map<String, String> errors = taskController.updateTask(task, currentUser.getId());
                         
                         if (errors.isEmpty()) {
@@ -327,6 +522,7 @@ public class TaskServlet extends HttpServlet {
                             return;
                         } else {
                             request.setAttribute("errors", errors);
+                            request.setAttribute("errorMessage", errors.get("general"));
                             request.setAttribute("task", task);
                             prepareTaskForm(request);
                             request.getRequestDispatcher("/WEB-INF/views/task/edit.jsp").forward(request, response);
@@ -393,7 +589,7 @@ public class TaskServlet extends HttpServlet {
                     if (canDelete) {
                         boolean success = taskController.deleteTask(taskId);
                         if (success) {
-                            response.sendRedirect(request.getContextPath() + "/tasks?success=deleted");
+                            response.sendRedirect(request.getContextPath() + "/tasks?success=deleted&deletedTask=" + taskId);
                             return;
                         }
                     }
@@ -404,4 +600,26 @@ public class TaskServlet extends HttpServlet {
         }
         response.sendRedirect(request.getContextPath() + "/tasks?error=delete");
     }
+    
+    private void handleRestoreTask(HttpServletRequest request, HttpServletResponse response, String pathInfo, User currentUser) 
+            throws ServletException, IOException {
+        if (pathInfo != null && pathInfo.length() > 1) {
+            try {
+                int taskId = Integer.parseInt(pathInfo.substring(1));
+                Task task = taskController.getDeletedTaskById(taskId);
+                
+                if (task != null) {
+                    boolean canRestore = currentUser.getRole().equalsIgnoreCase("admin") || task.getCreatedBy() == currentUser.getId();
+                    
+                    if (canRestore && taskController.restoreTask(taskId)) {
+                        response.sendRedirect(request.getContextPath() + "/task/view/" + taskId + "?success=restored");
+                        return;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Invalid task ID
+            }
+        }
+        response.sendRedirect(request.getContextPath() + "/tasks?error=restore");
+    }
 }
@@ -0,0 +1,80 @@
+package com.clb.task_management_system.util;
+
+/**
+ * Utility class for reading application settings.
+ * A setting is looked up first as a JVM system property (-DNAME=value) and then
+ * as an environment variable, so deployments can configure the application
+ * without rebuilding it.
+ */
+public class AppConfig {
+
+    private AppConfig() {
+    }
+
+    /**
+     * Gets a string setting.
+     *
+     * @param name The setting name, e.g. DB_URL
+     * @param defaultValue The value to use when the setting is not defined
+     * @return The configured value, or the default
+     */
+    public static String getString(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getenv(name);
+        }
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Gets an integer setting, falling back to the default if it is missing or malformed.
+     *
+     * @param name The setting name
+     * @param defaultValue The value to use when the setting is not defined
+     * @return The configured value, or the default
+     */
+    public static int getInt(String name, int defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.out.println("AppConfig: Ignoring invalid integer for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a long setting, falling back to the default if it is missing or malformed.
+     *
+     * @param name The setting name
+     * @param defaultValue The value to use when the setting is not defined
+     * @return The configured value, or the default
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = getString(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.out.println("AppConfig: Ignoring invalid number for " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a boolean setting ("true"/"false", case-insensitive).
+     *
+     * @param name The setting name
+     * @param defaultValue The value to use when the setting is not defined
+     * @return The configured value, or the default
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,76 @@
+package com.clb.task_management_system.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared scheduler for periodic maintenance jobs.
+ * Started and stopped by AppLifecycleListener; jobs run one at a time on a single
+ * daemon thread, and a job that throws is logged and run again at its next period.
+ */
+public class BackgroundJobs {
+
+    private static ScheduledExecutorService executor;
+
+    private BackgroundJobs() {
+    }
+
+    /**
+     * Starts the scheduler. Calling it again while running has no effect.
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "background-jobs");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a job periodically, first after one period. A period that is not positive (e.g. a
+     * misconfigured interval) leaves the job unscheduled instead of failing application startup.
+     *
+     * @param name The job name, used in log messages
+     * @param job The job to run
+     * @param period The time between the start of two runs
+     * @param unit The unit of the period
+     */
+    public static synchronized void schedule(String name, Runnable job, long period, TimeUnit unit) {
+        if (executor == null) {
+            throw new IllegalStateException("BackgroundJobs has not been started");
+        }
+        if (period <= 0) {
+            System.out.println("BackgroundJobs: Job " + name + " not scheduled, period " + period + " is not positive");
+            return;
+        }
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                job.run();
+            } catch (Exception e) {
+                // An uncaught exception would cancel every later run of the job
+                System.out.println("BackgroundJobs: Job " + name + " failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Stops the scheduler, waiting briefly for a running job to finish.
+     */
+    public static synchronized void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+    }
+}
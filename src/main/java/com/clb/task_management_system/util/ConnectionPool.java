@@ -0,0 +1,423 @@
+package com.clb.task_management_system.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded JDBC connection pool.
+ * Connections handed out by {@link #getConnection()} are proxies whose close()
+ * returns the physical connection to the pool instead of closing it, so the
+ * existing try-with-resources code in the DAOs works unchanged.
+ *
+ * <p>The pool keeps at least {@code minIdle} connections open, never opens more
+ * than {@code maxSize}, validates idle connections when they are borrowed,
+ * retires connections that have been idle or alive for too long, and reports
+ * connections that have been borrowed for longer than the leak detection threshold.</p>
+ */
+public class ConnectionPool {
+
+    /** Connections used within this window are handed out again without a validation round trip. */
+    private static final long VALIDATION_BYPASS_MS = 500;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30_000;
+
+    private final String jdbcUrl;
+    private final Properties connectionProperties;
+    private final int minIdle;
+    private final int maxSize;
+    private final long connectionTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long leakDetectionThresholdMs;
+    private final int validationTimeoutSeconds;
+
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private ConnectionPool(Builder builder) {
+        this.jdbcUrl = builder.jdbcUrl;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.setProperty("user", builder.username);
+        this.connectionProperties.setProperty("password", builder.password);
+        this.minIdle = builder.minIdle;
+        this.maxSize = builder.maxSize;
+        this.connectionTimeoutMs = builder.connectionTimeoutMs;
+        this.idleTimeoutMs = builder.idleTimeoutMs;
+        this.maxLifetimeMs = builder.maxLifetimeMs;
+        this.leakDetectionThresholdMs = builder.leakDetectionThresholdMs;
+        this.validationTimeoutSeconds = builder.validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a builder for a pool connecting to the given database.
+     *
+     * @param jdbcUrl The JDBC URL
+     * @param username The database user
+     * @param password The database password
+     * @return A new builder
+     */
+    public static Builder builder(String jdbcUrl, String username, String password) {
+        return new Builder(jdbcUrl, username, password);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available.
+     *
+     * @return A pooled connection; closing it returns it to the pool
+     * @throws SQLException If the pool is closed, no connection becomes available within
+     *                      the acquisition timeout, or a new connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + connectionTimeoutMs
+                        + "ms waiting for a database connection (active=" + getActiveCount()
+                        + ", idle=" + getIdleCount() + ", max=" + maxSize + ")", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeIdleConnection();
+            if (pooled == null) {
+                pooled = openConnection();
+            }
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrowTrace = leakDetectionThresholdMs > 0 ? new Exception("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            borrowedConnections.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeping thread.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    public int getActiveCount() {
+        return borrowedConnections.size();
+    }
+
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private PooledConnection takeIdleConnection() {
+        PooledConnection pooled;
+        // Most recently returned first, so a quiet pool lets the rest of the connections age out.
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (isExpired(pooled, now)) {
+                closeQuietly(pooled);
+                continue;
+            }
+            if (now - pooled.lastUsedAt > VALIDATION_BYPASS_MS && !isAlive(pooled)) {
+                closeQuietly(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        return null;
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(jdbcUrl, connectionProperties);
+        return new PooledConnection(physical);
+    }
+
+    private boolean isAlive(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long now) {
+        return maxLifetimeMs > 0 && now - pooled.createdAt > maxLifetimeMs;
+    }
+
+    /**
+     * Returns a connection to the pool, resetting any transaction state left by the borrower.
+     */
+    private void release(PooledConnection pooled) {
+        borrowedConnections.remove(pooled);
+        try {
+            boolean reusable = !closed && !pooled.broken && !isExpired(pooled, System.currentTimeMillis());
+            if (reusable) {
+                try {
+                    Connection physical = pooled.physical;
+                    if (!physical.getAutoCommit()) {
+                        physical.rollback();
+                        physical.setAutoCommit(true);
+                    }
+                    if (physical.isReadOnly()) {
+                        physical.setReadOnly(false);
+                    }
+                    physical.clearWarnings();
+                } catch (SQLException e) {
+                    reusable = false;
+                }
+            }
+
+            if (reusable) {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            } else {
+                closeQuietly(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Retire idle connections above the minimum and any that exceeded their lifetime
+        Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledConnection pooled = iterator.next();
+            boolean idleTooLong = idleTimeoutMs > 0 && now - pooled.lastUsedAt > idleTimeoutMs
+                    && idleConnections.size() > minIdle;
+            if ((idleTooLong || isExpired(pooled, now)) && idleConnections.remove(pooled)) {
+                closeQuietly(pooled);
+            }
+        }
+
+        // Report connections that have been held longer than the leak detection threshold
+        if (leakDetectionThresholdMs > 0) {
+            for (PooledConnection pooled : borrowedConnections) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMs) {
+                    pooled.leakReported = true;
+                    System.out.println("ConnectionPool: Possible connection leak, connection held for "
+                            + (now - pooled.borrowedAt) + "ms");
+                    if (pooled.borrowTrace != null) {
+                        pooled.borrowTrace.printStackTrace();
+                    }
+                }
+            }
+        }
+
+        // Top the pool back up to the minimum number of idle connections. Each new connection is
+        // opened under a permit, like a borrower's, so together they never exceed maxSize.
+        while (!closed && idleConnections.size() < minIdle
+                && idleConnections.size() + borrowedConnections.size() < maxSize) {
+            if (!permits.tryAcquire()) {
+                break;
+            }
+            try {
+                PooledConnection pooled = openConnection();
+                idleConnections.offerLast(pooled);
+                // close() may have drained the idle connections while this one was being opened
+                if (closed && idleConnections.remove(pooled)) {
+                    closeQuietly(pooled);
+                }
+            } catch (SQLException e) {
+                System.out.println("ConnectionPool: Could not open idle connection: " + e.getMessage());
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    private void closeQuietly(PooledConnection pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    /**
+     * A physical connection together with the bookkeeping the pool needs for it.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile long lastUsedAt = createdAt;
+        private volatile long borrowedAt;
+        private volatile Exception borrowTrace;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * The borrower's view of a pooled connection. Each borrow gets a fresh handle,
+     * so a handle that has been closed cannot touch a connection someone else now holds.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean handleClosed;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (handleClosed) {
+                throw new SQLException("Connection has already been returned to the pool", "08003");
+            }
+
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String sqlState = ((SQLException) cause).getSQLState();
+                    // Class 08 is "connection exception"; such connections are not returned to the pool
+                    if (sqlState != null && sqlState.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link ConnectionPool}.
+     */
+    public static class Builder {
+        private final String jdbcUrl;
+        private final String username;
+        private final String password;
+        private int minIdle = 2;
+        private int maxSize = 10;
+        private long connectionTimeoutMs = 30_000;
+        private long idleTimeoutMs = 600_000;
+        private long maxLifetimeMs = 1_800_000;
+        private long leakDetectionThresholdMs = 0;
+        private int validationTimeoutSeconds = 5;
+
+        private Builder(String jdbcUrl, String username, String password) {
+            this.jdbcUrl = jdbcUrl;
+            this.username = username;
+            this.password = password;
+        }
+
+        public Builder minIdle(int minIdle) {
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder connectionTimeoutMs(long connectionTimeoutMs) {
+            this.connectionTimeoutMs = connectionTimeoutMs;
+            return this;
+        }
+
+        public Builder idleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
+        public Builder maxLifetimeMs(long maxLifetimeMs) {
+            this.maxLifetimeMs = maxLifetimeMs;
+            return this;
+        }
+
+        public Builder leakDetectionThresholdMs(long leakDetectionThresholdMs) {
+            this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+            return this;
+        }
+
+        public Builder validationTimeoutSeconds(int validationTimeoutSeconds) {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        public ConnectionPool build() {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("Pool max size must be at least 1");
+            }
+            if (minIdle < 0 || minIdle > maxSize) {
+                throw new IllegalArgumentException("Pool min idle must be between 0 and max size");
+            }
+            return new ConnectionPool(this);
+        }
+    }
+}
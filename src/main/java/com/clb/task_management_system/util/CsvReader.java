@@ -0,0 +1,105 @@
+package com.clb.task_management_system.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming reader for comma-separated values (RFC 4180).
+ * Fields may be quoted with double quotes, in which case they can contain commas,
+ * line breaks and doubled quotes. Both CRLF and LF line endings are accepted.
+ * The reader is not buffered internally; wrap the source in a BufferedReader.
+ */
+public class CsvReader {
+
+    private final Reader reader;
+    private int lineNumber;
+    private int recordLineNumber;
+    private int peeked = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException If reading fails or a quoted field is not closed
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        lineNumber++;
+        recordLineNumber = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\r' && peek() == '\n') {
+                // CR of a CRLF line ending; the LF ends the record
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    /**
+     * Gets the line on which the last record returned by {@link #readRecord()} started.
+     */
+    public int getLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,52 @@
+package com.clb.task_management_system.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming writer for comma-separated values (RFC 4180), the counterpart of CsvReader.
+ * Fields containing a comma, a double quote or a line break are quoted, with embedded quotes
+ * doubled; null fields are written as empty. Records end with CRLF.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param fields The fields of the record
+     * @throws IOException If writing fails
+     */
+    public void writeRecord(String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(fields[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String field) throws IOException {
+        if (field == null || field.isEmpty()) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < field.length() && !needsQuotes; i++) {
+            char c = field.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
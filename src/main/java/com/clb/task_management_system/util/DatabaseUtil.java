@@ -1,108 +1,92 @@
 package com.clb.task_management_system.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 /**
  * Utility class for database operations.
  * Part of the Model component in MVC architecture.
+ *
+ * <p>Connections come from a shared {@link ConnectionPool} configured through
+ * {@link AppConfig}: DB_URL, DB_USERNAME, DB_PASSWORD, DB_POOL_MIN_IDLE,
+ * DB_POOL_MAX_SIZE, DB_POOL_CONNECTION_TIMEOUT_MS, DB_POOL_IDLE_TIMEOUT_MS,
+ * DB_POOL_MAX_LIFETIME_MS and DB_POOL_LEAK_DETECTION_MS.</p>
  */
 public class DatabaseUtil {
-    private static final String JDBC_URL = "jdbc:postgresql://localhost:5432/Task_management_system";
-    private static final String USERNAME = "postgres";
-    private static final String PASSWORD = "728728";
+    // Local development defaults, used only when the corresponding setting is not provided
+    private static final String DEFAULT_JDBC_URL = "jdbc:postgresql://localhost:5432/Task_management_system";
+    private static final String DEFAULT_USERNAME = "postgres";
+    private static final String DEFAULT_PASSWORD = "728728";
     
-    private static boolean tablesInitialized = false;
+    private static volatile ConnectionPool pool;
 
     /**
-     * Gets a connection to the database and initializes tables if needed.
+     * Gets a connection to the database.
+     * The connection is borrowed from the pool; closing it returns it to the pool.
+     * The schema is created and upgraded at startup by SchemaMigrator.
      * 
      * @return A database connection
      * @throws SQLException If a database error occurs
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("org.postgresql.Driver");
-            Connection connection = DriverManager.getConnection(JDBC_URL, USERNAME, PASSWORD);
-            
-            // Initialize tables if not already done
-            if (!tablesInitialized) {
-                initializeTables(connection);
-                tablesInitialized = true;
+        return getPool().getConnection();
+    }
+    
+    /**
+     * Gets the shared connection pool, creating it on first use.
+     * 
+     * @return The connection pool
+     * @throws SQLException If the PostgreSQL driver is not available
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseUtil.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool();
+                    pool = current;
+                }
             }
-            
-            return connection;
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("PostgreSQL JDBC Driver not found", e);
         }
+        return current;
     }
     
     /**
-     * Initializes database tables if they don't exist.
-     * 
-     * @param connection The database connection
+     * Shuts down the connection pool, closing all idle connections.
+     * A later call to {@link #getConnection()} creates a new pool.
      */
-    private static void initializeTables(Connection connection) {
-        try (Statement stmt = connection.createStatement()) {
-            // Create users table if not exists
-            stmt.execute("CREATE TABLE IF NOT EXISTS USERS (" +
-                    "id SERIAL PRIMARY KEY, " +
-                    "first_name VARCHAR(50) NOT NULL, " +
-                    "last_name VARCHAR(50) NOT NULL, " +
-                    "email VARCHAR(100) NOT NULL UNIQUE, " +
-                    "password VARCHAR(255) NOT NULL, " +
-                    "role VARCHAR(10) NOT NULL DEFAULT 'user' CHECK (role IN ('admin', 'user'))" +
-                    ")");
-            
-            // Create projects table if not exists
-            stmt.execute("CREATE TABLE IF NOT EXISTS PROJECTS (" +
-                    "id SERIAL PRIMARY KEY, " +
-                    "name VARCHAR(100) NOT NULL, " +
-                    "description TEXT, " +
-                    "start_date DATE, " +
-                    "end_date DATE, " +
-                    "created_by INT NOT NULL, " +
-                    "FOREIGN KEY (created_by) REFERENCES USERS(id)" +
-                    ")");
-            
-            // Create tasks table if not exists
-            stmt.execute("CREATE TABLE IF NOT EXISTS TASKS (" +
-                    "id SERIAL PRIMARY KEY, " +
-                    "title VARCHAR(100) NOT NULL, " +
-                    "description TEXT, " +
-                    "due_date DATE, " +
-                    "status VARCHAR(20) NOT NULL DEFAULT 'Pending' CHECK (status IN ('Pending', 'In Progress', 'Completed')), " +
-                    "assigned_to INT NOT NULL, " +
-                    "project_id INT, " +
-                    "created_by INT NOT NULL, " +
-                    "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (assigned_to) REFERENCES USERS(id), " +
-                    "FOREIGN KEY (project_id) REFERENCES PROJECTS(id), " +
-                    "FOREIGN KEY (created_by) REFERENCES USERS(id)" +
-                    ")");
-            
-            // Create task_logs table if not exists
-            stmt.execute("CREATE TABLE IF NOT EXISTS TASK_LOGS (" +
-                    "id SERIAL PRIMARY KEY, " +
-                    "task_id INT NOT NULL, " +
-                    "old_status VARCHAR(50), " +
-                    "new_status VARCHAR(50), " +
-                    "changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                    "changed_by INT NOT NULL, " +
-                    "FOREIGN KEY (task_id) REFERENCES TASKS(id), " +
-                    "FOREIGN KEY (changed_by) REFERENCES USERS(id)" +
-                    ")");
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public static void shutdown() {
+        synchronized (DatabaseUtil.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+            }
+        }
+    }
+    
+    private static ConnectionPool createPool() throws SQLException {
+        try {
+            Class.forName("org.postgresql.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("PostgreSQL JDBC Driver not found", e);
         }
+        
+        return ConnectionPool.builder(
+                        AppConfig.getString("DB_URL", DEFAULT_JDBC_URL),
+                        AppConfig.getString("DB_USERNAME", DEFAULT_USERNAME),
+                        AppConfig.getString("DB_PASSWORD", DEFAULT_PASSWORD))
+                .minIdle(AppConfig.getInt("DB_POOL_MIN_IDLE", 2))
+                .maxSize(AppConfig.getInt("DB_POOL_MAX_SIZE", 10))
+                .connectionTimeoutMs(AppConfig.getLong("DB_POOL_CONNECTION_TIMEOUT_MS", 30_000))
+                .idleTimeoutMs(AppConfig.getLong("DB_POOL_IDLE_TIMEOUT_MS", 600_000))
+                .maxLifetimeMs(AppConfig.getLong("DB_POOL_MAX_LIFETIME_MS", 1_800_000))
+                .leakDetectionThresholdMs(AppConfig.getLong("DB_POOL_LEAK_DETECTION_MS", 60_000))
+                .build();
     }
     
     /**
-     * Closes a database connection.
+     * Closes a database connection, returning it to the pool.
      * 
      * @param connection The connection to close
      */
@@ -0,0 +1,181 @@
+package com.clb.task_management_system.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe in-memory cache with a maximum size and a time to live.
+ * When full, the least recently used entry is evicted; an entry older than the
+ * time to live is treated as absent. Every operation holds a short lock around an
+ * access-ordered LinkedHashMap, which is enough for caches of a few thousand entries.
+ *
+ * <p>Callers are responsible for storing values that will not be mutated afterwards,
+ * e.g. by caching and returning copies.</p>
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxSize The maximum number of entries; must be positive
+     * @param ttlMillis How long an entry stays valid after it is stored
+     */
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets a value, counting the lookup as a hit or a miss.
+     *
+     * @param key The key
+     * @return The value, or null if it is absent or expired
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entries if the cache is full.
+     *
+     * @param key The key
+     * @param value The value; null values are not stored
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            entries.put(key, new Entry<>(value, now + ttlNanos));
+            if (entries.size() > maxSize) {
+                evict(now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key The key
+     * @return The value that was removed, or null if there was none
+     */
+    public V remove(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.remove(key);
+            return entry != null ? entry.value : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drops the least recently used entries until the size limit holds; expired ones are not counted as evictions
+    private void evict(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > maxSize) {
+            Map.Entry<K, Entry<V>> next = it.next();
+            it.remove();
+            if (!next.getValue().isExpired(now)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the number of live entries removed to make room for new ones.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + "/" + maxSize + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
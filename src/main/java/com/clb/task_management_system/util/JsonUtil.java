@@ -0,0 +1,214 @@
+package com.clb.task_management_system.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON helpers for the few places that write or read JSON by hand (the project has no JSON library).
+ */
+public final class JsonUtil {
+
+    private JsonUtil() {
+    }
+
+    /**
+     * Encodes a string as a JSON string literal, including the surrounding quotes.
+     *
+     * @param value The string, possibly null
+     * @return The literal, or {@code null} for a null value
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Parses a JSON object into a map of its values as strings. Nested objects are flattened
+     * with dotted keys ({@code {"assignee":{"id":3}}} becomes {@code assignee.id -> 3}); numbers
+     * and booleans keep their literal text and null becomes a null value. Arrays are not supported.
+     *
+     * @param json The text of one JSON object, such as one line of an NDJSON file
+     * @return The flattened values in document order
+     * @throws IllegalArgumentException If the text is not a JSON object or contains an array
+     */
+    public static Map<String, String> parseObject(String json) {
+        Parser parser = new Parser(json);
+        Map<String, String> values = new LinkedHashMap<>();
+        parser.skipWhitespace();
+        parser.readObject("", values);
+        parser.skipWhitespace();
+        if (parser.pos < json.length()) {
+            throw parser.error("Unexpected text after the object");
+        }
+        return values;
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private void readObject(String prefix, Map<String, String> values) {
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = prefix + readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                char c = peek();
+                if (c == '{') {
+                    readObject(key + ".", values);
+                } else if (c == '"') {
+                    values.put(key, readString());
+                } else if (c == '[') {
+                    throw error("Arrays are not supported");
+                } else {
+                    String literal = readLiteral();
+                    values.put(key, "null".equals(literal) ? null : literal);
+                }
+                skipWhitespace();
+                char next = peek();
+                pos++;
+                if (next == '}') {
+                    return;
+                }
+                if (next != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Incomplete unicode escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped);
+                }
+            }
+        }
+
+        private String readLiteral() {
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("Expected a value");
+            }
+            if (!literal.equals("null") && !literal.equals("true") && !literal.equals("false")) {
+                try {
+                    Double.parseDouble(literal);
+                } catch (NumberFormatException e) {
+                    throw error("Invalid value " + literal);
+                }
+            }
+            return literal;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + pos);
+        }
+    }
+}
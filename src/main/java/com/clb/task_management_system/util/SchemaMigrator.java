@@ -0,0 +1,425 @@
+package com.clb.task_management_system.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies numbered schema migrations and records them in the SCHEMA_VERSION table.
+ * Runs once at startup from AppLifecycleListener. Each migration runs in its own
+ * transaction, and a PostgreSQL advisory lock keeps several application instances
+ * starting at the same time from applying the same migration twice.
+ *
+ * <p>To change the schema, append a new migration with the next version number;
+ * never edit a migration that has already been released.</p>
+ */
+public class SchemaMigrator {
+
+    /** Arbitrary key for pg_advisory_lock, shared by every instance of the application. */
+    private static final long MIGRATION_LOCK_KEY = 72872801L;
+
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+
+    static {
+        // Baseline schema; IF NOT EXISTS lets databases created by earlier versions adopt it as-is
+        MIGRATIONS.add(new Migration(1, "Create base tables",
+                "CREATE TABLE IF NOT EXISTS USERS (" +
+                        "id SERIAL PRIMARY KEY, " +
+                        "first_name VARCHAR(50) NOT NULL, " +
+                        "last_name VARCHAR(50) NOT NULL, " +
+                        "email VARCHAR(100) NOT NULL UNIQUE, " +
+                        "password VARCHAR(255) NOT NULL, " +
+                        "role VARCHAR(10) NOT NULL DEFAULT 'user' CHECK (role IN ('admin', 'user'))" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS PROJECTS (" +
+                        "id SERIAL PRIMARY KEY, " +
+                        "name VARCHAR(100) NOT NULL, " +
+                        "description TEXT, " +
+                        "start_date DATE, " +
+                        "end_date DATE, " +
+                        "created_by INT NOT NULL, " +
+                        "FOREIGN KEY (created_by) REFERENCES USERS(id)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS TASKS (" +
+                        "id SERIAL PRIMARY KEY, " +
+                        "title VARCHAR(100) NOT NULL, " +
+                        "description TEXT, " +
+                        "due_date DATE, " +
+                        "status VARCHAR(20) NOT NULL DEFAULT 'Pending' CHECK (status IN ('Pending', 'In Progress', 'Completed')), " +
+                        "assigned_to INT NOT NULL, " +
+                        "project_id INT, " +
+                        "created_by INT NOT NULL, " +
+                        "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                        "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                        "FOREIGN KEY (assigned_to) REFERENCES USERS(id), " +
+                        "FOREIGN KEY (project_id) REFERENCES PROJECTS(id), " +
+                        "FOREIGN KEY (created_by) REFERENCES USERS(id)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS TASK_LOGS (" +
+                        "id SERIAL PRIMARY KEY, " +
+                        "task_id INT NOT NULL, " +
+                        "old_status VARCHAR(50), " +
+                        "new_status VARCHAR(50), " +
+                        "changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                        "changed_by INT NOT NULL, " +
+                        "FOREIGN KEY (task_id) REFERENCES TASKS(id), " +
+                        "FOREIGN KEY (changed_by) REFERENCES USERS(id)" +
+                        ")"));
+
+        // Secondary indexes backing the TaskDAO list queries and the task history view
+        MIGRATIONS.add(new Migration(2, "Add task and task log indexes",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to_created_at ON TASKS (assigned_to, created_at)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_created_by_created_at ON TASKS (created_by, created_at)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_project_id ON TASKS (project_id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON TASKS (due_date)",
+                "CREATE INDEX IF NOT EXISTS idx_task_logs_task_id_changed_at ON TASK_LOGS (task_id, changed_at)"));
+
+        // Keyset pagination orders by (created_at, id): the column must be non-null and the
+        // indexes must carry id as a tie-breaker so a page is a single index range scan
+        MIGRATIONS.add(new Migration(3, "Index tasks for keyset pagination",
+                "UPDATE TASKS SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL",
+                "ALTER TABLE TASKS ALTER COLUMN created_at SET NOT NULL",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON TASKS (created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_assigned_to_created_at_id ON TASKS (assigned_to, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_created_by_created_at_id ON TASKS (created_by, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_project_id_created_at_id ON TASKS (project_id, created_at, id)",
+                "DROP INDEX IF EXISTS idx_tasks_assigned_to_created_at",
+                "DROP INDEX IF EXISTS idx_tasks_created_by_created_at",
+                "DROP INDEX IF EXISTS idx_tasks_project_id"));
+
+        // Status filter on the task list, ordered like every other listing
+        MIGRATIONS.add(new Migration(4, "Index tasks by status",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON TASKS (status, created_at, id)"));
+
+        // Per-assignee and per-project task counts by status, kept in step with TASKS by row
+        // triggers so every write path (including ad-hoc SQL) updates them in the same transaction.
+        // The update trigger only fires when a counted column actually changes.
+        MIGRATIONS.add(new Migration(5, "Add task status counters",
+                "CREATE TABLE IF NOT EXISTS USER_TASK_COUNTS (" +
+                        "user_id INT NOT NULL REFERENCES USERS(id) ON DELETE CASCADE, " +
+                        "status VARCHAR(20) NOT NULL, " +
+                        "task_count INT NOT NULL DEFAULT 0, " +
+                        "PRIMARY KEY (user_id, status)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS PROJECT_TASK_COUNTS (" +
+                        "project_id INT NOT NULL REFERENCES PROJECTS(id) ON DELETE CASCADE, " +
+                        "status VARCHAR(20) NOT NULL, " +
+                        "task_count INT NOT NULL DEFAULT 0, " +
+                        "PRIMARY KEY (project_id, status)" +
+                        ")",
+                "CREATE OR REPLACE FUNCTION maintain_task_counts() RETURNS trigger AS $$ " +
+                        "BEGIN " +
+                        "IF TG_OP IN ('UPDATE', 'DELETE') THEN " +
+                        "UPDATE USER_TASK_COUNTS SET task_count = task_count - 1 " +
+                        "WHERE user_id = OLD.assigned_to AND status = OLD.status; " +
+                        "IF OLD.project_id IS NOT NULL THEN " +
+                        "UPDATE PROJECT_TASK_COUNTS SET task_count = task_count - 1 " +
+                        "WHERE project_id = OLD.project_id AND status = OLD.status; " +
+                        "END IF; " +
+                        "END IF; " +
+                        "IF TG_OP IN ('INSERT', 'UPDATE') THEN " +
+                        "INSERT INTO USER_TASK_COUNTS (user_id, status, task_count) VALUES (NEW.assigned_to, NEW.status, 1) " +
+                        "ON CONFLICT (user_id, status) DO UPDATE SET task_count = USER_TASK_COUNTS.task_count + 1; " +
+                        "IF NEW.project_id IS NOT NULL THEN " +
+                        "INSERT INTO PROJECT_TASK_COUNTS (project_id, status, task_count) VALUES (NEW.project_id, NEW.status, 1) " +
+                        "ON CONFLICT (project_id, status) DO UPDATE SET task_count = PROJECT_TASK_COUNTS.task_count + 1; " +
+                        "END IF; " +
+                        "END IF; " +
+                        "RETURN NULL; " +
+                        "END $$ LANGUAGE plpgsql",
+                "DROP TRIGGER IF EXISTS trg_tasks_counts_insert_delete ON TASKS",
+                "CREATE TRIGGER trg_tasks_counts_insert_delete AFTER INSERT OR DELETE ON TASKS " +
+                        "FOR EACH ROW EXECUTE FUNCTION maintain_task_counts()",
+                "DROP TRIGGER IF EXISTS trg_tasks_counts_update ON TASKS",
+                "CREATE TRIGGER trg_tasks_counts_update AFTER UPDATE OF status, assigned_to, project_id ON TASKS " +
+                        "FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status " +
+                        "OR OLD.assigned_to IS DISTINCT FROM NEW.assigned_to " +
+                        "OR OLD.project_id IS DISTINCT FROM NEW.project_id) " +
+                        "EXECUTE FUNCTION maintain_task_counts()",
+                // Block task writes until the backfill commits so no change is counted twice or missed
+                "LOCK TABLE TASKS IN SHARE ROW EXCLUSIVE MODE",
+                "DELETE FROM USER_TASK_COUNTS",
+                "DELETE FROM PROJECT_TASK_COUNTS",
+                "INSERT INTO USER_TASK_COUNTS (user_id, status, task_count) " +
+                        "SELECT assigned_to, status, COUNT(*) FROM TASKS GROUP BY assigned_to, status",
+                "INSERT INTO PROJECT_TASK_COUNTS (project_id, status, task_count) " +
+                        "SELECT project_id, status, COUNT(*) FROM TASKS WHERE project_id IS NOT NULL GROUP BY project_id, status"));
+
+        // Optimistic concurrency for task edits: every UPDATE of TASKS increments version
+        MIGRATIONS.add(new Migration(6, "Add task row version",
+                "ALTER TABLE TASKS ADD COLUMN IF NOT EXISTS version INT NOT NULL DEFAULT 0"));
+
+        // Task history is paged newest first by (changed_at, id), like the task lists by (created_at, id)
+        MIGRATIONS.add(new Migration(7, "Index task logs for keyset pagination",
+                "UPDATE TASK_LOGS SET changed_at = CURRENT_TIMESTAMP WHERE changed_at IS NULL",
+                "ALTER TABLE TASK_LOGS ALTER COLUMN changed_at SET NOT NULL",
+                "CREATE INDEX IF NOT EXISTS idx_task_logs_task_id_changed_at_id ON TASK_LOGS (task_id, changed_at, id)",
+                "DROP INDEX IF EXISTS idx_task_logs_task_id_changed_at"));
+
+        // TASK_LOGS is append-only and read per task, so it is split into monthly range partitions
+        // on changed_at: inserts and per-task index scans touch small, recent partitions, vacuum
+        // works per month, and old months can be detached and archived whole (TaskLogPartitionDAO).
+        // ensure_task_log_partitions creates the monthly partitions covering a time range.
+        MIGRATIONS.add(new Migration(8, "Partition task logs by month",
+                "LOCK TABLE TASK_LOGS IN ACCESS EXCLUSIVE MODE",
+                "ALTER TABLE TASK_LOGS RENAME TO TASK_LOGS_UNPARTITIONED",
+                "ALTER TABLE TASK_LOGS_UNPARTITIONED RENAME CONSTRAINT task_logs_pkey TO task_logs_unpartitioned_pkey",
+                "CREATE TABLE TASK_LOGS (" +
+                        "id INT NOT NULL DEFAULT nextval('task_logs_id_seq'), " +
+                        "task_id INT NOT NULL, " +
+                        "old_status VARCHAR(50), " +
+                        "new_status VARCHAR(50), " +
+                        "changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                        "changed_by INT NOT NULL, " +
+                        "PRIMARY KEY (id, changed_at), " +
+                        "FOREIGN KEY (task_id) REFERENCES TASKS(id), " +
+                        "FOREIGN KEY (changed_by) REFERENCES USERS(id)" +
+                        ") PARTITION BY RANGE (changed_at)",
+                "CREATE OR REPLACE FUNCTION ensure_task_log_partitions(from_ts TIMESTAMP, to_ts TIMESTAMP) " +
+                        "RETURNS INT AS $$ " +
+                        "DECLARE " +
+                        "month_start TIMESTAMP := date_trunc('month', from_ts); " +
+                        "partition_name TEXT; " +
+                        "created INT := 0; " +
+                        "BEGIN " +
+                        "IF from_ts IS NULL OR to_ts IS NULL THEN RETURN 0; END IF; " +
+                        "PERFORM pg_advisory_xact_lock(hashtext('ensure_task_log_partitions')); " +
+                        "WHILE month_start <= to_ts LOOP " +
+                        "partition_name := 'task_logs_p' || to_char(month_start, 'YYYY_MM'); " +
+                        "IF to_regclass(partition_name) IS NULL THEN " +
+                        "EXECUTE format('CREATE TABLE %I PARTITION OF TASK_LOGS FOR VALUES FROM (%L) TO (%L)', " +
+                        "partition_name, month_start, month_start + INTERVAL '1 month'); " +
+                        "created := created + 1; " +
+                        "END IF; " +
+                        "month_start := month_start + INTERVAL '1 month'; " +
+                        "END LOOP; " +
+                        "RETURN created; " +
+                        "END $$ LANGUAGE plpgsql",
+                "SELECT ensure_task_log_partitions(" +
+                        "COALESCE((SELECT MIN(changed_at) FROM TASK_LOGS_UNPARTITIONED), CURRENT_TIMESTAMP), " +
+                        "CURRENT_TIMESTAMP + INTERVAL '3 months')",
+                "INSERT INTO TASK_LOGS (id, task_id, old_status, new_status, changed_at, changed_by) " +
+                        "SELECT id, task_id, old_status, new_status, changed_at, changed_by FROM TASK_LOGS_UNPARTITIONED",
+                // Keep the id sequence: it would otherwise be dropped together with its old table
+                "ALTER SEQUENCE task_logs_id_seq OWNED BY NONE",
+                "DROP TABLE TASK_LOGS_UNPARTITIONED",
+                "ALTER SEQUENCE task_logs_id_seq OWNED BY TASK_LOGS.id",
+                "CREATE INDEX idx_task_logs_task_id_changed_at_id ON TASK_LOGS (task_id, changed_at, id)"));
+
+        // Cold storage for old Completed tasks and their logs (TaskArchiveDAO). Archived tasks keep
+        // their IDs and still count in the task counters: the counter trigger also runs on the
+        // archive, so moving a task out of TASKS leaves every count unchanged.
+        MIGRATIONS.add(new Migration(9, "Add task archive",
+                "CREATE TABLE IF NOT EXISTS TASKS_ARCHIVE (" +
+                        "id INT PRIMARY KEY, " +
+                        "title VARCHAR(100) NOT NULL, " +
+                        "description TEXT, " +
+                        "due_date DATE, " +
+                        "status VARCHAR(20) NOT NULL, " +
+                        "assigned_to INT NOT NULL, " +
+                        "project_id INT, " +
+                        "created_by INT NOT NULL, " +
+                        "created_at TIMESTAMP NOT NULL, " +
+                        "updated_at TIMESTAMP, " +
+                        "version INT NOT NULL DEFAULT 0, " +
+                        "archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                        "FOREIGN KEY (assigned_to) REFERENCES USERS(id), " +
+                        "FOREIGN KEY (project_id) REFERENCES PROJECTS(id), " +
+                        "FOREIGN KEY (created_by) REFERENCES USERS(id)" +
+                        ")",
+                "CREATE TABLE IF NOT EXISTS TASK_LOGS_ARCHIVE (" +
+                        "id INT PRIMARY KEY, " +
+                        "task_id INT NOT NULL, " +
+                        "old_status VARCHAR(50), " +
+                        "new_status VARCHAR(50), " +
+                        "changed_at TIMESTAMP NOT NULL, " +
+                        "changed_by INT NOT NULL, " +
+                        "FOREIGN KEY (task_id) REFERENCES TASKS_ARCHIVE(id), " +
+                        "FOREIGN KEY (changed_by) REFERENCES USERS(id)" +
+                        ")",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_archive_created_at_id ON TASKS_ARCHIVE (created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_archive_assigned_to_created_at_id ON TASKS_ARCHIVE (assigned_to, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_archive_created_by_created_at_id ON TASKS_ARCHIVE (created_by, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_archive_project_id_created_at_id ON TASKS_ARCHIVE (project_id, created_at, id)",
+                "CREATE INDEX IF NOT EXISTS idx_task_logs_archive_task_id_changed_at_id ON TASK_LOGS_ARCHIVE (task_id, changed_at, id)",
+                // Lets the mover find its candidates without scanning every task
+                "CREATE INDEX IF NOT EXISTS idx_tasks_completed_updated_at ON TASKS (updated_at, id) WHERE status = 'Completed'",
+                "CREATE TRIGGER trg_tasks_archive_counts AFTER INSERT OR DELETE ON TASKS_ARCHIVE " +
+                        "FOR EACH ROW EXECUTE FUNCTION maintain_task_counts()"));
+
+        // Deleting a task only sets deleted_at; TaskPurgeDAO removes the row and its logs later.
+        // A tombstoned task no longer counts: the counter function skips rows with deleted_at set,
+        // and setting or clearing it fires the update triggers like any other counted change.
+        MIGRATIONS.add(new Migration(10, "Add task tombstones",
+                "ALTER TABLE TASKS ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP",
+                "ALTER TABLE TASKS_ARCHIVE ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP",
+                // Let the purger find expired tombstones without scanning every task
+                "CREATE INDEX IF NOT EXISTS idx_tasks_deleted_at ON TASKS (deleted_at, id) WHERE deleted_at IS NOT NULL",
+                "CREATE INDEX IF NOT EXISTS idx_tasks_archive_deleted_at ON TASKS_ARCHIVE (deleted_at, id) " +
+                        "WHERE deleted_at IS NOT NULL",
+                "CREATE OR REPLACE FUNCTION maintain_task_counts() RETURNS trigger AS $$ " +
+                        "BEGIN " +
+                        "IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.deleted_at IS NULL THEN " +
+                        "UPDATE USER_TASK_COUNTS SET task_count = task_count - 1 " +
+                        "WHERE user_id = OLD.assigned_to AND status = OLD.status; " +
+                        "IF OLD.project_id IS NOT NULL THEN " +
+                        "UPDATE PROJECT_TASK_COUNTS SET task_count = task_count - 1 " +
+                        "WHERE project_id = OLD.project_id AND status = OLD.status; " +
+                        "END IF; " +
+                        "END IF; " +
+                        "IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.deleted_at IS NULL THEN " +
+                        "INSERT INTO USER_TASK_COUNTS (user_id, status, task_count) VALUES (NEW.assigned_to, NEW.status, 1) " +
+                        "ON CONFLICT (user_id, status) DO UPDATE SET task_count = USER_TASK_COUNTS.task_count + 1; " +
+                        "IF NEW.project_id IS NOT NULL THEN " +
+                        "INSERT INTO PROJECT_TASK_COUNTS (project_id, status, task_count) VALUES (NEW.project_id, NEW.status, 1) " +
+                        "ON CONFLICT (project_id, status) DO UPDATE SET task_count = PROJECT_TASK_COUNTS.task_count + 1; " +
+                        "END IF; " +
+                        "END IF; " +
+                        "RETURN NULL; " +
+                        "END $$ LANGUAGE plpgsql",
+                "DROP TRIGGER IF EXISTS trg_tasks_counts_update ON TASKS",
+                "CREATE TRIGGER trg_tasks_counts_update AFTER UPDATE OF status, assigned_to, project_id, deleted_at ON TASKS " +
+                        "FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status " +
+                        "OR OLD.assigned_to IS DISTINCT FROM NEW.assigned_to " +
+                        "OR OLD.project_id IS DISTINCT FROM NEW.project_id " +
+                        "OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at) " +
+                        "EXECUTE FUNCTION maintain_task_counts()",
+                // Archived tasks are only ever detached from a deleted project or tombstoned
+                "DROP TRIGGER IF EXISTS trg_tasks_archive_counts_update ON TASKS_ARCHIVE",
+                "CREATE TRIGGER trg_tasks_archive_counts_update AFTER UPDATE OF project_id, deleted_at ON TASKS_ARCHIVE " +
+                        "FOR EACH ROW WHEN (OLD.project_id IS DISTINCT FROM NEW.project_id " +
+                        "OR OLD.deleted_at IS DISTINCT FROM NEW.deleted_at) " +
+                        "EXECUTE FUNCTION maintain_task_counts()"));
+
+        // Catch-all partition, so task writes keep working if the monthly partitions were not created
+        // in time. Creating a partition whose month has rows in the default one would fail, so those
+        // rows are moved into a new table that is then attached as the month's partition.
+        MIGRATIONS.add(new Migration(11, "Add default task log partition",
+                "CREATE TABLE IF NOT EXISTS task_logs_default PARTITION OF TASK_LOGS DEFAULT",
+                "CREATE OR REPLACE FUNCTION ensure_task_log_partitions(from_ts TIMESTAMP, to_ts TIMESTAMP) " +
+                        "RETURNS INT AS $$ " +
+                        "DECLARE " +
+                        "month_start TIMESTAMP := date_trunc('month', from_ts); " +
+                        "partition_name TEXT; " +
+                        "created INT := 0; " +
+                        "BEGIN " +
+                        "IF from_ts IS NULL OR to_ts IS NULL THEN RETURN 0; END IF; " +
+                        "PERFORM pg_advisory_xact_lock(hashtext('ensure_task_log_partitions')); " +
+                        "WHILE month_start <= to_ts LOOP " +
+                        "partition_name := 'task_logs_p' || to_char(month_start, 'YYYY_MM'); " +
+                        "IF to_regclass(partition_name) IS NULL THEN " +
+                        "IF EXISTS (SELECT 1 FROM task_logs_default " +
+                        "WHERE changed_at >= month_start AND changed_at < month_start + INTERVAL '1 month') THEN " +
+                        "EXECUTE format('CREATE TABLE %I (LIKE TASK_LOGS INCLUDING DEFAULTS)', partition_name); " +
+                        "EXECUTE format('WITH moved AS (DELETE FROM task_logs_default " +
+                        "WHERE changed_at >= %L AND changed_at < %L RETURNING *) INSERT INTO %I SELECT * FROM moved', " +
+                        "month_start, month_start + INTERVAL '1 month', partition_name); " +
+                        "EXECUTE format('ALTER TABLE TASK_LOGS ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', " +
+                        "partition_name, month_start, month_start + INTERVAL '1 month'); " +
+                        "ELSE " +
+                        "EXECUTE format('CREATE TABLE %I PARTITION OF TASK_LOGS FOR VALUES FROM (%L) TO (%L)', " +
+                        "partition_name, month_start, month_start + INTERVAL '1 month'); " +
+                        "END IF; " +
+                        "created := created + 1; " +
+                        "END IF; " +
+                        "month_start := month_start + INTERVAL '1 month'; " +
+                        "END LOOP; " +
+                        "RETURN created; " +
+                        "END $$ LANGUAGE plpgsql"));
+    }
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies every migration that has not been recorded in SCHEMA_VERSION yet.
+     *
+     * @throws SQLException If a migration fails; that migration is rolled back
+     */
+    public static void migrate() throws SQLException {
+        try (Connection conn = DatabaseUtil.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_advisory_lock(" + MIGRATION_LOCK_KEY + ")");
+            }
+
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE IF NOT EXISTS SCHEMA_VERSION (" +
+                            "version INT PRIMARY KEY, " +
+                            "description VARCHAR(200) NOT NULL, " +
+                            "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+                            ")");
+                }
+
+                Set<Integer> applied = getAppliedVersions(conn);
+                for (Migration migration : MIGRATIONS) {
+                    if (!applied.contains(migration.version)) {
+                        apply(conn, migration);
+                    }
+                }
+            } finally {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("SELECT pg_advisory_unlock(" + MIGRATION_LOCK_KEY + ")");
+                }
+            }
+        }
+    }
+
+    private static Set<Integer> getAppliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM SCHEMA_VERSION")) {
+            while (rs.next()) {
+                versions.add(rs.getInt("version"));
+            }
+        }
+        return versions;
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        System.out.println("SchemaMigrator: Applying migration " + migration.version + " - " + migration.description);
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.statements) {
+                    stmt.execute(sql);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO SCHEMA_VERSION (version, description) VALUES (?, ?)")) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.executeUpdate();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration " + migration.version + " (" + migration.description + ") failed", e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * A numbered set of DDL statements applied together.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        private Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
@@ -59,6 +59,11 @@
                                     <i class="bi bi-folder me-1"></i> Projects
                                 </a>
                             </li>
+                            <li class="nav-item">
+                                <a class="nav-link" href="${pageContext.request.contextPath}/import">
+                                    <i class="bi bi-upload me-1"></i> Import
+                                </a>
+                            </li>
                         </c:if>
                     </ul>
                     
@@ -65,7 +65,11 @@
             <div class="card border-0 shadow-sm">
                 <div class="card-header bg-white d-flex justify-content-between align-items-center py-3">
                     <h2 class="h5 mb-0 text-primary">Tasks Assigned to Me</h2>
-                    <a href="${pageContext.request.contextPath}/tasks?filter=assigned" class="btn btn-outline-primary btn-sm">View All</a>
+                    <c:url var="assignedAllUrl" value="/tasks">
+                        <c:param name="assignee" value="${sessionScope.user.id}" />
+                        <c:if test="${not empty projectFilter}"><c:param name="project" value="${projectFilter}" /></c:if>
+                    </c:url>
+                    <a href="${assignedAllUrl}" class="btn btn-outline-primary btn-sm">View All</a>
                 </div>
                 <div class="card-body">
                     <c:if test="${empty assignedTasks}">
@@ -88,6 +92,9 @@
                                 </a>
                             </c:forEach>
                         </div>
+                        <c:if test="${assignedHasMore}">
+                            <p class="small text-muted mt-2 mb-0">Showing the most recent tasks; use View All for the rest.</p>
+                        </c:if>
                     </c:if>
                 </div>
             </div>
@@ -98,7 +105,11 @@
             <div class="card border-0 shadow-sm">
                 <div class="card-header bg-white d-flex justify-content-between align-items-center py-3">
                     <h2 class="h5 mb-0 text-primary">Tasks Created by Me</h2>
-                    <a href="${pageContext.request.contextPath}/tasks?filter=created" class="btn btn-outline-primary btn-sm">View All</a>
+                    <c:url var="createdAllUrl" value="/tasks">
+                        <c:param name="creator" value="${sessionScope.user.id}" />
+                        <c:if test="${not empty projectFilter}"><c:param name="project" value="${projectFilter}" /></c:if>
+                    </c:url>
+                    <a href="${createdAllUrl}" class="btn btn-outline-primary btn-sm">View All</a>
                 </div>
                 <div class="card-body">
                     <c:if test="${empty createdTasks}">
@@ -121,6 +132,9 @@
                                 </a>
                             </c:forEach>
                         </div>
+                        <c:if test="${createdHasMore}">
+                            <p class="small text-muted mt-2 mb-0">Showing the most recent tasks; use View All for the rest.</p>
+                        </c:if>
                     </c:if>
                 </div>
             </div>
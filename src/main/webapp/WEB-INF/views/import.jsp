@@ -0,0 +1,104 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+
+<jsp:include page="common/header.jsp" />
+
+<div class="container py-4">
+    <div class="row">
+        <div class="col-md-10 mx-auto">
+            <div class="card border-0 shadow-sm">
+                <div class="card-header bg-white py-3">
+                    <h1 class="h4 mb-0 text-primary">Import Projects and Tasks</h1>
+                </div>
+                <div class="card-body">
+                    <c:if test="${not empty errorMessage}">
+                        <div class="alert alert-danger">${errorMessage}</div>
+                    </c:if>
+                    <c:if test="${not empty result}">
+                        <c:if test="${not empty result.generalError}">
+                            <div class="alert alert-danger"><c:out value="${result.generalError}" /></div>
+                        </c:if>
+                        <c:if test="${empty result.generalError}">
+                            <div class="alert ${result.errorCount > 0 ? 'alert-warning' : 'alert-success'}">
+                                Imported ${result.successCount} ${param.type eq 'projects' ? 'projects' : 'tasks'}.
+                                <c:if test="${result.errorCount > 0}">${result.errorCount} records were skipped.</c:if>
+                            </div>
+                        </c:if>
+                        <c:if test="${result.errorCount > 0}">
+                            <div class="table-responsive mb-4">
+                                <table class="table table-sm">
+                                    <thead>
+                                        <tr>
+                                            <th>Line</th>
+                                            <th>Error</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach items="${result.rowErrors}" var="rowError" end="199">
+                                            <tr>
+                                                <td>${rowError.key}</td>
+                                                <td><c:out value="${rowError.value}" /></td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                                <c:if test="${result.errorCount > 200}">
+                                    <p class="text-muted">Only the first 200 errors are shown.</p>
+                                </c:if>
+                            </div>
+                        </c:if>
+                    </c:if>
+
+                    <p>
+                        Upload a CSV file with a header line, or an NDJSON file with one JSON object per line.
+                        Import projects first, so that tasks can refer to them by name.
+                    </p>
+                    <ul>
+                        <li>Projects: <code>name</code>, <code>description</code>, <code>startDate</code>,
+                            <code>endDate</code> (yyyy-MM-dd), optionally <code>creator</code> (user ID or email).
+                            Projects whose name already exists are skipped.</li>
+                        <li>Tasks: <code>title</code>, <code>description</code>, <code>dueDate</code> (yyyy-MM-dd),
+                            <code>assignee</code> (user ID or email), optionally <code>status</code>,
+                            <code>project</code> (ID or name), <code>creator</code> and <code>createdAt</code>.
+                            Files written by the task export can be imported as they are.</li>
+                    </ul>
+                    <p class="text-muted">
+                        Invalid records are skipped and listed; all other records are imported together.
+                        If more than 1000 records are invalid, nothing is imported.
+                    </p>
+
+                    <form action="${pageContext.request.contextPath}/import" method="POST" enctype="multipart/form-data">
+                        <div class="row mb-3">
+                            <div class="col-md-6">
+                                <label for="type" class="form-label">Import</label>
+                                <select class="form-select" id="type" name="type">
+                                    <option value="tasks" ${param.type ne 'projects' ? 'selected' : ''}>Tasks</option>
+                                    <option value="projects" ${param.type eq 'projects' ? 'selected' : ''}>Projects</option>
+                                </select>
+                            </div>
+                            <div class="col-md-6">
+                                <label for="format" class="form-label">Format</label>
+                                <select class="form-select" id="format" name="format">
+                                    <option value="csv" ${param.format ne 'ndjson' ? 'selected' : ''}>CSV</option>
+                                    <option value="ndjson" ${param.format eq 'ndjson' ? 'selected' : ''}>NDJSON</option>
+                                </select>
+                            </div>
+                        </div>
+
+                        <div class="mb-3">
+                            <label for="file" class="form-label">File</label>
+                            <input type="file" class="form-control" id="file" name="file" accept=".csv,.ndjson,.jsonl,text/csv">
+                        </div>
+
+                        <div class="d-flex justify-content-between">
+                            <a href="${pageContext.request.contextPath}/dashboard" class="btn btn-outline-secondary">Back to Dashboard</a>
+                            <button type="submit" class="btn btn-primary">Import</button>
+                        </div>
+                    </form>
+                </div>
+            </div>
+        </div>
+    </div>
+</div>
+
+<jsp:include page="common/footer.jsp" />
@@ -52,7 +52,7 @@
                                                class="btn btn-outline-secondary btn-sm">
                                                 <i class="bi bi-pencil"></i>
                                             </a>
-                                            <button onclick="confirmDelete('${pageContext.request.contextPath}/project/delete/${project.id}')" 
+                                            <button onclick="confirmDelete('${pageContext.request.contextPath}/project/delete/${project.id}', ${project.taskCount})" 
                                                     class="btn btn-outline-danger btn-sm">
                                                 <i class="bi bi-trash"></i>
                                             </button>
@@ -68,11 +68,34 @@
     </div>
 </div>
 
+<!-- Delete Confirmation Modal -->
+<div class="modal fade" id="deleteModal" tabindex="-1">
+    <div class="modal-dialog">
+        <div class="modal-content">
+            <div class="modal-header">
+                <h5 class="modal-title">Confirm Delete</h5>
+                <button type="button" class="btn-close" data-bs-dismiss="modal"></button>
+            </div>
+            <div class="modal-body">
+                Are you sure you want to delete this project?
+                It has <span id="deleteTaskCount"></span> tasks; they can be deleted with their history
+                or kept without a project.
+            </div>
+            <div class="modal-footer">
+                <button type="button" class="btn btn-secondary" data-bs-dismiss="modal">Cancel</button>
+                <a href="#" id="confirmDetachButton" class="btn btn-outline-danger">Delete, keep tasks</a>
+                <a href="#" id="confirmDeleteButton" class="btn btn-danger">Delete with tasks</a>
+            </div>
+        </div>
+    </div>
+</div>
+
 <script>
-function confirmDelete(url) {
-    if (confirm('Are you sure you want to delete this project? All associated tasks will also be deleted.')) {
-        window.location.href = url;
-    }
+function confirmDelete(url, taskCount) {
+    document.getElementById('deleteTaskCount').textContent = taskCount;
+    document.getElementById('confirmDeleteButton').href = url;
+    document.getElementById('confirmDetachButton').href = url + '?tasks=detach';
+    new bootstrap.Modal(document.getElementById('deleteModal')).show();
 }
 </script>
 
@@ -0,0 +1,79 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+
+<jsp:include page="../common/header.jsp" />
+
+<div class="container py-4">
+    <div class="row">
+        <div class="col-md-10 mx-auto">
+            <div class="card border-0 shadow-sm">
+                <div class="card-header bg-white py-3">
+                    <h1 class="h4 mb-0 text-primary">Bulk Create Tasks</h1>
+                </div>
+                <div class="card-body">
+                    <c:if test="${not empty result}">
+                        <c:if test="${not empty result.generalError}">
+                            <div class="alert alert-danger"><c:out value="${result.generalError}" /></div>
+                        </c:if>
+                        <c:if test="${empty result.generalError}">
+                            <div class="alert ${result.errorCount > 0 ? 'alert-warning' : 'alert-success'}">
+                                Created ${result.successCount} tasks.
+                                <c:if test="${result.errorCount > 0}">${result.errorCount} rows were skipped.</c:if>
+                            </div>
+                        </c:if>
+                        <c:if test="${result.errorCount > 0}">
+                            <div class="table-responsive mb-4">
+                                <table class="table table-sm">
+                                    <thead>
+                                        <tr>
+                                            <th>Line</th>
+                                            <th>Error</th>
+                                        </tr>
+                                    </thead>
+                                    <tbody>
+                                        <c:forEach items="${result.rowErrors}" var="rowError" end="199">
+                                            <tr>
+                                                <td>${rowError.key}</td>
+                                                <td><c:out value="${rowError.value}" /></td>
+                                            </tr>
+                                        </c:forEach>
+                                    </tbody>
+                                </table>
+                                <c:if test="${result.errorCount > 200}">
+                                    <p class="text-muted">Only the first 200 errors are shown.</p>
+                                </c:if>
+                            </div>
+                        </c:if>
+                    </c:if>
+
+                    <p>
+                        Upload a CSV file or paste CSV text. The first line must name the columns
+                        <code>title</code>, <code>description</code>, <code>dueDate</code> (yyyy-MM-dd),
+                        <code>assignee</code> (user ID or email) and optionally <code>project</code> (ID or name).
+                        Rows with errors are skipped and listed; all other rows are created as Pending tasks.
+                    </p>
+
+                    <form action="${pageContext.request.contextPath}/task/bulk" method="POST" enctype="multipart/form-data">
+                        <div class="mb-3">
+                            <label for="file" class="form-label">CSV File</label>
+                            <input type="file" class="form-control" id="file" name="file" accept=".csv,text/csv">
+                        </div>
+
+                        <div class="mb-3">
+                            <label for="csv" class="form-label">Or paste CSV</label>
+                            <textarea class="form-control font-monospace" id="csv" name="csv" rows="10"
+                                      placeholder="title,description,dueDate,assignee,project"></textarea>
+                        </div>
+
+                        <div class="d-flex justify-content-between">
+                            <a href="${pageContext.request.contextPath}/tasks" class="btn btn-outline-secondary">Back to Tasks</a>
+                            <button type="submit" class="btn btn-primary">Create Tasks</button>
+                        </div>
+                    </form>
+                </div>
+            </div>
+        </div>
+    </div>
+</div>
+
+<jsp:include page="../common/footer.jsp" />
@@ -19,6 +19,8 @@
                     </c:if>
                     
                     <form action="${pageContext.request.contextPath}/task/edit/${task.id}" method="post">
+                        <input type="hidden" name="version" value="${task.version}">
+                        
                         <div class="mb-3">
                             <label for="title" class="form-label">Title</label>
                             <input type="text" class="form-control ${not empty titleError ? 'is-invalid' : ''}" 
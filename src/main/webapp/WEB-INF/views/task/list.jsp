@@ -1,29 +1,61 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/functions" prefix="fn" %>
 
 <jsp:include page="../common/header.jsp" />
 
 <div class="container mt-4">
     <div class="d-flex justify-content-between align-items-center mb-4">
         <h1>Tasks</h1>
-        <a href="${pageContext.request.contextPath}/task/create" class="btn btn-primary">Add New Task</a>
+        <div>
+            <c:if test="${'admin' eq sessionScope.user.role}">
+                <c:url var="exportUrl" value="/task/export">
+                    <c:if test="${not empty param.status}"><c:param name="status" value="${param.status}" /></c:if>
+                    <c:if test="${not empty param.project}"><c:param name="project" value="${param.project}" /></c:if>
+                    <c:if test="${not empty param.assignee}"><c:param name="assignee" value="${param.assignee}" /></c:if>
+                    <c:if test="${not empty param.creator}"><c:param name="creator" value="${param.creator}" /></c:if>
+                    <c:if test="${not empty param.dueFrom}"><c:param name="dueFrom" value="${param.dueFrom}" /></c:if>
+                    <c:if test="${not empty param.dueTo}"><c:param name="dueTo" value="${param.dueTo}" /></c:if>
+                    <c:if test="${param.includeArchived eq 'true'}"><c:param name="includeArchived" value="true" /></c:if>
+                    <c:if test="${param.deleted eq 'true'}"><c:param name="deleted" value="true" /></c:if>
+                </c:url>
+                <c:url var="exportJsonUrl" value="/task/export">
+                    <c:param name="format" value="ndjson" />
+                    <c:if test="${not empty param.status}"><c:param name="status" value="${param.status}" /></c:if>
+                    <c:if test="${not empty param.project}"><c:param name="project" value="${param.project}" /></c:if>
+                    <c:if test="${not empty param.assignee}"><c:param name="assignee" value="${param.assignee}" /></c:if>
+                    <c:if test="${not empty param.creator}"><c:param name="creator" value="${param.creator}" /></c:if>
+                    <c:if test="${not empty param.dueFrom}"><c:param name="dueFrom" value="${param.dueFrom}" /></c:if>
+                    <c:if test="${not empty param.dueTo}"><c:param name="dueTo" value="${param.dueTo}" /></c:if>
+                    <c:if test="${param.includeArchived eq 'true'}"><c:param name="includeArchived" value="true" /></c:if>
+                    <c:if test="${param.deleted eq 'true'}"><c:param name="deleted" value="true" /></c:if>
+                </c:url>
+                <a href="${exportUrl}" class="btn btn-outline-secondary">Export CSV</a>
+                <a href="${exportJsonUrl}" class="btn btn-outline-secondary">Export JSON</a>
+            </c:if>
+            <a href="${pageContext.request.contextPath}/task/bulk" class="btn btn-outline-primary">Bulk Create</a>
+            <a href="${pageContext.request.contextPath}/task/create" class="btn btn-primary">Add New Task</a>
+        </div>
     </div>
 
     <!-- Filters -->
     <div class="card mb-4">
         <div class="card-body">
             <form action="${pageContext.request.contextPath}/tasks" method="get" class="row g-3">
-                <div class="col-md-4">
+                <c:if test="${not empty param.creator}">
+                    <input type="hidden" name="creator" value="${fn:escapeXml(param.creator)}">
+                </c:if>
+                <div class="col-md-2">
                     <label for="status" class="form-label">Status</label>
                     <select name="status" id="status" class="form-select">
                         <option value="">All Statuses</option>
-                        <option value="TODO" ${param.status == 'TODO' ? 'selected' : ''}>To Do</option>
-                        <option value="IN_PROGRESS" ${param.status == 'IN_PROGRESS' ? 'selected' : ''}>In Progress</option>
-                        <option value="DONE" ${param.status == 'DONE' ? 'selected' : ''}>Done</option>
+                        <option value="Pending" ${param.status == 'Pending' ? 'selected' : ''}>Pending</option>
+                        <option value="In Progress" ${param.status == 'In Progress' ? 'selected' : ''}>In Progress</option>
+                        <option value="Completed" ${param.status == 'Completed' ? 'selected' : ''}>Completed</option>
                     </select>
                 </div>
-                <div class="col-md-4">
+                <div class="col-md-2">
                     <label for="project" class="form-label">Project</label>
                     <select name="project" id="project" class="form-select">
                         <option value="">All Projects</option>
@@ -32,14 +64,63 @@
                         </c:forEach>
                     </select>
                 </div>
-                <div class="col-md-4 d-flex align-items-end">
-                    <button type="submit" class="btn btn-primary">Apply Filters</button>
+                <div class="col-md-2">
+                    <label for="assignee" class="form-label">Assignee</label>
+                    <select name="assignee" id="assignee" class="form-select">
+                        <option value="">All Assignees</option>
+                        <c:forEach items="${users}" var="user">
+                            <option value="${user.id}" ${param.assignee == user.id ? 'selected' : ''}>${user.fullName}</option>
+                        </c:forEach>
+                    </select>
+                </div>
+                <div class="col-md-2">
+                    <label for="dueFrom" class="form-label">Due From</label>
+                    <input type="date" name="dueFrom" id="dueFrom" class="form-control" value="${fn:escapeXml(param.dueFrom)}">
+                </div>
+                <div class="col-md-2">
+                    <label for="dueTo" class="form-label">Due To</label>
+                    <input type="date" name="dueTo" id="dueTo" class="form-control" value="${fn:escapeXml(param.dueTo)}">
+                </div>
+                <div class="col-md-2 d-flex align-items-end">
+                    <button type="submit" class="btn btn-primary">Apply</button>
                     <a href="${pageContext.request.contextPath}/tasks" class="btn btn-secondary ms-2">Clear</a>
                 </div>
+                <div class="col-12">
+                    <div class="form-check">
+                        <input type="checkbox" class="form-check-input" name="includeArchived" id="includeArchived" value="true"
+                               ${param.includeArchived eq 'true' ? 'checked' : ''}>
+                        <label for="includeArchived" class="form-check-label">Include archived tasks</label>
+                    </div>
+                    <div class="form-check">
+                        <input type="checkbox" class="form-check-input" name="deleted" id="deleted" value="true"
+                               ${param.deleted eq 'true' ? 'checked' : ''}>
+                        <label for="deleted" class="form-check-label">Show deleted tasks (restorable until purged)</label>
+                    </div>
+                </div>
             </form>
         </div>
     </div>
 
+    <c:if test="${not empty param.deletedTask}">
+        <div class="alert alert-success">
+            Task deleted.
+            <a href="${pageContext.request.contextPath}/task/restore/<c:out value="${param.deletedTask}" />" class="alert-link">Undo</a>
+        </div>
+    </c:if>
+    <c:if test="${param.error eq 'restore'}">
+        <div class="alert alert-danger">The task could not be restored; it may already have been purged.</div>
+    </c:if>
+    <c:if test="${not empty param.bulkError}">
+        <div class="alert alert-danger"><c:out value="${param.bulkError}" /></div>
+    </c:if>
+    <c:if test="${not empty param.bulkUpdated}">
+        <div class="alert ${param.bulkSkipped > 0 ? 'alert-warning' : 'alert-success'}">
+            Updated <c:out value="${param.bulkUpdated}" /> tasks.
+            <c:if test="${param.bulkUnchanged > 0}"><c:out value="${param.bulkUnchanged}" /> matching tasks already had these values.</c:if>
+            <c:if test="${param.bulkSkipped > 0}"><c:out value="${param.bulkSkipped}" /> selected tasks could not be changed.</c:if>
+        </div>
+    </c:if>
+
     <!-- Tasks List -->
     <div class="card">
         <div class="card-body">
@@ -47,10 +128,53 @@
                 <p class="text-center">No tasks found matching your criteria.</p>
             </c:if>
             <c:if test="${not empty tasks}">
+                <form action="${pageContext.request.contextPath}/task/bulk-update" method="post" id="bulkForm">
+                <input type="hidden" name="status" value="${fn:escapeXml(param.status)}">
+                <input type="hidden" name="project" value="${fn:escapeXml(param.project)}">
+                <input type="hidden" name="assignee" value="${fn:escapeXml(param.assignee)}">
+                <input type="hidden" name="creator" value="${fn:escapeXml(param.creator)}">
+                <input type="hidden" name="dueFrom" value="${fn:escapeXml(param.dueFrom)}">
+                <input type="hidden" name="dueTo" value="${fn:escapeXml(param.dueTo)}">
+
+                <!-- Bulk actions; deleted tasks can only be restored -->
+                <c:if test="${param.deleted ne 'true'}">
+                <div class="row g-2 align-items-end mb-3">
+                    <div class="col-md-3">
+                        <label for="scope" class="form-label">Apply to</label>
+                        <select name="scope" id="scope" class="form-select form-select-sm">
+                            <option value="selected">Selected tasks</option>
+                            <option value="filter">All tasks matching the filters</option>
+                        </select>
+                    </div>
+                    <div class="col-md-3">
+                        <label for="newStatus" class="form-label">Set status</label>
+                        <select name="newStatus" id="newStatus" class="form-select form-select-sm">
+                            <option value="">Keep status</option>
+                            <option value="Pending">Pending</option>
+                            <option value="In Progress">In Progress</option>
+                            <option value="Completed">Completed</option>
+                        </select>
+                    </div>
+                    <div class="col-md-3">
+                        <label for="newAssignee" class="form-label">Reassign to</label>
+                        <select name="newAssignee" id="newAssignee" class="form-select form-select-sm">
+                            <option value="">Keep assignee</option>
+                            <c:forEach items="${users}" var="user">
+                                <option value="${user.id}">${user.fullName}</option>
+                            </c:forEach>
+                        </select>
+                    </div>
+                    <div class="col-md-3">
+                        <button type="submit" class="btn btn-sm btn-outline-primary">Apply to Tasks</button>
+                    </div>
+                </div>
+                </c:if>
+
                 <div class="table-responsive">
                     <table class="table table-hover">
                         <thead>
                             <tr>
+                                <th><input type="checkbox" class="form-check-input" id="selectAll" onclick="toggleAll(this)"></th>
                                 <th>Title</th>
                                 <th>Project</th>
                                 <th>Assignee</th>
@@ -63,7 +187,17 @@
                             <c:forEach items="${tasks}" var="task">
                                 <tr>
                                     <td>
-                                        <a href="${pageContext.request.contextPath}/task/view/${task.id}">${task.title}</a>
+                                        <input type="checkbox" class="form-check-input task-select" name="taskIds" value="${task.id}" ${task.archived or task.deletedAt != null ? 'disabled' : ''}>
+                                    </td>
+                                    <td>
+                                        <c:choose>
+                                            <c:when test="${task.deletedAt != null}">${task.title}</c:when>
+                                            <c:otherwise>
+                                                <a href="${pageContext.request.contextPath}/task/view/${task.id}">${task.title}</a>
+                                            </c:otherwise>
+                                        </c:choose>
+                                        <c:if test="${task.archived}"><span class="badge bg-light text-muted ms-1">Archived</span></c:if>
+                                        <c:if test="${task.deletedAt != null}"><span class="badge bg-danger ms-1">Deleted</span></c:if>
                                     </td>
                                     <td>
                                         <c:choose>
@@ -95,14 +229,14 @@
                                     </td>
                                     <td>
                                         <c:choose>
-                                            <c:when test="${task.status == 'TODO'}">
-                                                <span class="badge bg-secondary">To Do</span>
+                                            <c:when test="${task.status == 'Pending'}">
+                                                <span class="badge bg-secondary">Pending</span>
                                             </c:when>
-                                            <c:when test="${task.status == 'IN_PROGRESS'}">
+                                            <c:when test="${task.status == 'In Progress'}">
                                                 <span class="badge bg-primary">In Progress</span>
                                             </c:when>
-                                            <c:when test="${task.status == 'DONE'}">
-                                                <span class="badge bg-success">Done</span>
+                                            <c:when test="${task.status == 'Completed'}">
+                                                <span class="badge bg-success">Completed</span>
                                             </c:when>
                                             <c:otherwise>
                                                 <span class="badge bg-secondary">${task.status}</span>
@@ -111,8 +245,17 @@
                                     </td>
                                     <td>
                                         <div class="btn-group">
-                                            <a href="${pageContext.request.contextPath}/task/edit/${task.id}" class="btn btn-sm btn-outline-primary">Edit</a>
-                                            <button type="button" class="btn btn-sm btn-outline-danger" onclick="confirmDelete(${task.id})">Delete</button>
+                                            <c:choose>
+                                                <c:when test="${task.deletedAt != null}">
+                                                    <a href="${pageContext.request.contextPath}/task/restore/${task.id}" class="btn btn-sm btn-outline-success">Restore</a>
+                                                </c:when>
+                                                <c:otherwise>
+                                                    <c:if test="${not task.archived}">
+                                                        <a href="${pageContext.request.contextPath}/task/edit/${task.id}" class="btn btn-sm btn-outline-primary">Edit</a>
+                                                    </c:if>
+                                                    <button type="button" class="btn btn-sm btn-outline-danger" onclick="confirmDelete(${task.id})">Delete</button>
+                                                </c:otherwise>
+                                            </c:choose>
                                         </div>
                                     </td>
                                 </tr>
@@ -120,6 +263,45 @@
                         </tbody>
                     </table>
                 </div>
+                </form>
+            </c:if>
+
+            <!-- Pagination -->
+            <c:if test="${not empty param.cursor || not empty nextCursor}">
+                <nav class="d-flex justify-content-between mt-3">
+                    <c:url var="firstPageUrl" value="/tasks">
+                        <c:if test="${not empty param.status}"><c:param name="status" value="${param.status}" /></c:if>
+                        <c:if test="${not empty param.project}"><c:param name="project" value="${param.project}" /></c:if>
+                        <c:if test="${not empty param.assignee}"><c:param name="assignee" value="${param.assignee}" /></c:if>
+                        <c:if test="${not empty param.creator}"><c:param name="creator" value="${param.creator}" /></c:if>
+                        <c:if test="${not empty param.dueFrom}"><c:param name="dueFrom" value="${param.dueFrom}" /></c:if>
+                        <c:if test="${not empty param.dueTo}"><c:param name="dueTo" value="${param.dueTo}" /></c:if>
+                        <c:if test="${param.includeArchived eq 'true'}"><c:param name="includeArchived" value="true" /></c:if>
+                        <c:if test="${param.deleted eq 'true'}"><c:param name="deleted" value="true" /></c:if>
+                    </c:url>
+                    <c:choose>
+                        <c:when test="${not empty param.cursor}">
+                            <a href="${firstPageUrl}" class="btn btn-sm btn-outline-secondary">&laquo; Newest</a>
+                        </c:when>
+                        <c:otherwise>
+                            <span></span>
+                        </c:otherwise>
+                    </c:choose>
+                    <c:if test="${not empty nextCursor}">
+                        <c:url var="nextPageUrl" value="/tasks">
+                            <c:if test="${not empty param.status}"><c:param name="status" value="${param.status}" /></c:if>
+                            <c:if test="${not empty param.project}"><c:param name="project" value="${param.project}" /></c:if>
+                            <c:if test="${not empty param.assignee}"><c:param name="assignee" value="${param.assignee}" /></c:if>
+                            <c:if test="${not empty param.creator}"><c:param name="creator" value="${param.creator}" /></c:if>
+                            <c:if test="${not empty param.dueFrom}"><c:param name="dueFrom" value="${param.dueFrom}" /></c:if>
+                            <c:if test="${not empty param.dueTo}"><c:param name="dueTo" value="${param.dueTo}" /></c:if>
+                            <c:if test="${param.includeArchived eq 'true'}"><c:param name="includeArchived" value="true" /></c:if>
+                            <c:if test="${param.deleted eq 'true'}"><c:param name="deleted" value="true" /></c:if>
+                            <c:param name="cursor" value="${nextCursor}" />
+                        </c:url>
+                        <a href="${nextPageUrl}" class="btn btn-sm btn-outline-primary">Older &raquo;</a>
+                    </c:if>
+                </nav>
             </c:if>
         </div>
     </div>
@@ -134,7 +316,7 @@
                 <button type="button" class="btn-close" data-bs-dismiss="modal"></button>
             </div>
             <div class="modal-body">
-                Are you sure you want to delete this task?
+                Are you sure you want to delete this task? It can be restored until it is purged.
             </div>
             <div class="modal-footer">
                 <button type="button" class="btn btn-secondary" data-bs-dismiss="modal">Cancel</button>
@@ -145,6 +327,12 @@
 </div>
 
 <script>
+function toggleAll(source) {
+    document.querySelectorAll('.task-select').forEach(function (checkbox) {
+        checkbox.checked = source.checked;
+    });
+}
+
 function confirmDelete(taskId) {
     document.getElementById('confirmDeleteButton').href = '${pageContext.request.contextPath}/task/delete/' + taskId;
     new bootstrap.Modal(document.getElementById('deleteModal')).show();
@@ -0,0 +1,26 @@
+<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/fmt" prefix="fmt" %>
+<%-- One page of a task's history; included by view.jsp and returned alone for "load more" --%>
+<c:forEach items="${logPage.logs}" var="log">
+    <div class="timeline-item mb-3">
+        <div class="d-flex">
+            <div class="timeline-marker me-3">
+                <i class="bi bi-circle-fill"></i>
+            </div>
+            <div class="timeline-content">
+                <p class="mb-0">
+                    Status changed from 
+                    <span class="badge bg-secondary">${empty log.oldStatus ? 'New' : log.oldStatus}</span> 
+                    to 
+                    <span class="badge bg-primary">${log.newStatus}</span>
+                </p>
+                <small class="text-muted">
+                    <fmt:formatDate value="${log.changedAt}" pattern="MMM d, yyyy HH:mm" />
+                    by ${log.changer.firstName} ${log.changer.lastName}
+                </small>
+            </div>
+        </div>
+    </div>
+</c:forEach>
+<div class="log-page-end" data-next-cursor="${logPage.nextCursor}"></div>
@@ -10,9 +10,12 @@
             <div class="card border-0 shadow-sm mb-4">
                 <div class="card-body">
                     <div class="d-flex justify-content-between align-items-center mb-4">
-                        <h2 class="card-title h4 mb-0">${task.title}</h2>
+                        <h2 class="card-title h4 mb-0">
+                            ${task.title}
+                            <c:if test="${task.archived}"><span class="badge bg-light text-muted align-middle">Archived</span></c:if>
+                        </h2>
                         <div class="task-actions">
-                            <c:if test="${sessionScope.user.admin || sessionScope.user.id == task.assignedTo || sessionScope.user.id == task.createdBy}">
+                            <c:if test="${not task.archived && (sessionScope.user.admin || sessionScope.user.id == task.assignedTo || sessionScope.user.id == task.createdBy)}">
                                 <a href="${pageContext.request.contextPath}/task/edit/${task.id}" class="btn btn-outline-primary btn-sm">
                                     <i class="bi bi-pencil me-1"></i> Edit
                                 </a>
@@ -91,27 +94,17 @@
                     <h3 class="h5 mb-4">Activity Log</h3>
                     
                     <div class="timeline">
-                        <c:forEach items="${logs}" var="log">
-                            <div class="timeline-item mb-3">
-                                <div class="d-flex">
-                                    <div class="timeline-marker me-3">
-                                        <i class="bi bi-circle-fill"></i>
-                                    </div>
-                                    <div class="timeline-content">
-                                        <p class="mb-0">
-                                            Status changed from 
-                                            <span class="badge bg-secondary">${empty log.oldStatus ? 'New' : log.oldStatus}</span> 
-                                            to 
-                                            <span class="badge bg-primary">${log.newStatus}</span>
-                                        </p>
-                                        <small class="text-muted">
-                                            <fmt:formatDate value="${log.changedAt}" pattern="MMM d, yyyy HH:mm" />
-                                            by ${log.changer.firstName} ${log.changer.lastName}
-                                        </small>
-                                    </div>
-                                </div>
-                            </div>
-                        </c:forEach>
+                        <div id="logEntries">
+                            <jsp:include page="log-entries.jsp" />
+                        </div>
+                        
+                        <c:if test="${logPage.hasMore}">
+                            <c:url var="olderLogsUrl" value="/task/view/${task.id}">
+                                <c:param name="logCursor" value="${logPage.nextCursor}" />
+                            </c:url>
+                            <a href="${olderLogsUrl}" id="loadMoreLogs" class="btn btn-sm btn-outline-secondary"
+                               data-cursor="${logPage.nextCursor}" onclick="return loadMoreLogs(this)">Load more</a>
+                        </c:if>
                         
                         <c:if test="${empty logs}">
                             <p class="text-muted mb-0">No activity recorded yet.</p>
@@ -182,4 +175,25 @@
     </div>
 </div>
 
+<script>
+function loadMoreLogs(link) {
+    var url = '${pageContext.request.contextPath}/task/view/${task.id}?fragment=logs&logCursor='
+            + encodeURIComponent(link.dataset.cursor);
+    fetch(url, {credentials: 'same-origin'})
+        .then(function (response) { return response.text(); })
+        .then(function (html) {
+            var entries = document.getElementById('logEntries');
+            entries.insertAdjacentHTML('beforeend', html);
+            var ends = entries.querySelectorAll('.log-page-end');
+            var nextCursor = ends[ends.length - 1].dataset.nextCursor;
+            if (nextCursor) {
+                link.dataset.cursor = nextCursor;
+            } else {
+                link.remove();
+            }
+        });
+    return false;
+}
+</script>
+
 <jsp:include page="../common/footer.jsp" />
@@ -0,0 +1,59 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskCursorTest {
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        Timestamp createdAt = Timestamp.valueOf("2024-03-05 14:07:09.123456");
+        TaskCursor decoded = TaskCursor.decode(new TaskCursor(createdAt, 42).encode());
+
+        assertNotNull(decoded);
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42, decoded.getId());
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new TaskCursor(Timestamp.valueOf("2024-12-31 23:59:59.999"), Integer.MAX_VALUE).encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    }
+
+    @Test
+    void afterPointsAtTheTask() {
+        Task task = new Task();
+        task.setId(7);
+        task.setCreatedAt(Timestamp.valueOf("2024-01-01 00:00:00"));
+        TaskCursor cursor = TaskCursor.decode(TaskCursor.after(task).encode());
+
+        assertNotNull(cursor);
+        assertEquals(task.getCreatedAt(), cursor.getCreatedAt());
+        assertEquals(7, cursor.getId());
+    }
+
+    @Test
+    void decodeRejectsMissingOrMalformedCursors() {
+        assertNull(TaskCursor.decode(null));
+        assertNull(TaskCursor.decode(""));
+        assertNull(TaskCursor.decode("not base64!"));
+        assertNull(TaskCursor.decode(encodeRaw("no separator")));
+        assertNull(TaskCursor.decode(encodeRaw("2024-01-01 00:00:00|abc")));
+        assertNull(TaskCursor.decode(encodeRaw("yesterday|5")));
+        assertNull(TaskCursor.decode(encodeRaw("|5")));
+    }
+}
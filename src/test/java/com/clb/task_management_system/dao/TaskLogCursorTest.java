@@ -0,0 +1,40 @@
+package com.clb.task_management_system.dao;
+
+import com.clb.task_management_system.model.TaskLog;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TaskLogCursorTest {
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void afterPointsAtTheLog() {
+        TaskLog log = new TaskLog();
+        log.setId(12);
+        log.setChangedAt(Timestamp.valueOf("2024-06-01 08:30:00.5"));
+        TaskLogCursor cursor = TaskLogCursor.decode(TaskLogCursor.after(log).encode());
+
+        assertNotNull(cursor);
+        assertEquals(log.getChangedAt(), cursor.getChangedAt());
+        assertEquals(12, cursor.getId());
+    }
+
+    @Test
+    void decodeRejectsMissingOrMalformedCursors() {
+        assertNull(TaskLogCursor.decode(null));
+        assertNull(TaskLogCursor.decode(""));
+        assertNull(TaskLogCursor.decode("not base64!"));
+        assertNull(TaskLogCursor.decode(encodeRaw("2024-01-01 00:00:00")));
+        assertNull(TaskLogCursor.decode(encodeRaw("2024-01-01 00:00:00|x")));
+    }
+}
@@ -0,0 +1,76 @@
+package com.clb.task_management_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\n1,,3\n"));
+        assertEquals(Arrays.asList("a", "b", "c"), reader.readRecord());
+        assertEquals(Arrays.asList("1", "", "3"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void acceptsCrlfAndMissingFinalLineBreak() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\r\nc,d"));
+        assertEquals(Arrays.asList("a", "b"), reader.readRecord());
+        assertEquals(Arrays.asList("c", "d"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\r\nline3\"\n\"\",x\n"));
+        assertEquals(Arrays.asList("a,b", "say \"hi\"", "line1\nline2\r\nline3"), reader.readRecord());
+        assertEquals(Arrays.asList("", "x"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void quotesInsideUnquotedFieldsAreKept() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\"b,c\n"));
+        assertEquals(Arrays.asList("a\"b", "c"), reader.readRecord());
+    }
+
+    @Test
+    void reportsTheLineOnWhichEachRecordStarted() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(
+                "title,description\n"
+                        + "one,\"two\nlines\"\n"
+                        + "\n"
+                        + "three,\"a\r\nb\r\nc\"\r\n"
+                        + "four,x\n"));
+        reader.readRecord();
+        assertEquals(1, reader.getLineNumber());
+        reader.readRecord();
+        assertEquals(2, reader.getLineNumber());
+        List<String> blank = reader.readRecord();
+        assertEquals(Arrays.asList(""), blank);
+        assertEquals(4, reader.getLineNumber());
+        assertEquals(Arrays.asList("three", "a\r\nb\r\nc"), reader.readRecord());
+        assertEquals(5, reader.getLineNumber());
+        assertEquals(Arrays.asList("four", "x"), reader.readRecord());
+        assertEquals(8, reader.getLineNumber());
+    }
+
+    @Test
+    void unterminatedQuoteNamesTheStartingLine() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a,b\nc,\"open\nstill\nopen"));
+        reader.readRecord();
+        IOException e = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(e.getMessage().endsWith("line 2"), e.getMessage());
+    }
+}
@@ -0,0 +1,52 @@
+package com.clb.task_management_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvWriterTest {
+
+    private static String write(String... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).writeRecord(fields);
+        return out.toString();
+    }
+
+    @Test
+    void writesPlainFieldsUnquoted() throws IOException {
+        assertEquals("a,b c,1\r\n", write("a", "b c", "1"));
+    }
+
+    @Test
+    void writesNullAndEmptyFieldsAsEmpty() throws IOException {
+        assertEquals(",,x\r\n", write(null, "", "x"));
+    }
+
+    @Test
+    void quotesFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertEquals("\"a,b\",\"say \"\"hi\"\"\",\"x\ny\",\"cr\r\"\r\n", write("a,b", "say \"hi\"", "x\ny", "cr\r"));
+    }
+
+    @Test
+    void readsWhatCsvWriterWrites() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        String[] first = {"plain", "comma, here", "quote \" here", "multi\nline\r\ntext", ""};
+        String[] second = {"", "x", "\"\"", "trailing\n"};
+        writer.writeRecord(first);
+        writer.writeRecord(second);
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        assertEquals(Arrays.asList(first), reader.readRecord());
+        assertEquals(1, reader.getLineNumber());
+        assertEquals(Arrays.asList(second), reader.readRecord());
+        assertEquals(4, reader.getLineNumber());
+        assertNull(reader.readRecord());
+    }
+}
@@ -0,0 +1,85 @@
+package com.clb.task_management_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiringLruCacheTest {
+
+    private static final long ONE_HOUR = 3_600_000L;
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, ONE_HOUR);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(1, cache.get("a"));
+        cache.put("c", 3);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void replacingAKeyDoesNotEvict() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, ONE_HOUR);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 10);
+
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.get("a"));
+        assertEquals(2, cache.get("b"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void expiredEntriesAreAbsent() throws InterruptedException {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 20);
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        Thread.sleep(50);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void expiredEntriesAreNotCountedAsEvictions() throws InterruptedException {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(1, 20);
+        cache.put("a", 1);
+        Thread.sleep(50);
+        cache.put("b", 2);
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.get("b"));
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    void removeClearAndNullValues() {
+        ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(5, ONE_HOUR);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", null);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.remove("a"));
+        assertNull(cache.remove("a"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringLruCache<String, Integer>(0, ONE_HOUR));
+    }
+}
@@ -0,0 +1,92 @@
+package com.clb.task_management_system.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonUtilTest {
+
+    private static String roundTrip(String value) {
+        return JsonUtil.parseObject("{\"v\":" + JsonUtil.quote(value) + "}").get("v");
+    }
+
+    @Test
+    void quoteEscapesSpecialCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\"", JsonUtil.quote("a\"b\\c\nd\re\tf"));
+        assertEquals("\"\\u0001\\u001f\"", JsonUtil.quote("\u0001\u001f"));
+        assertEquals("\"\\u2028\\u2029\"", JsonUtil.quote("\u2028\u2029"));
+        assertEquals("null", JsonUtil.quote(null));
+    }
+
+    @Test
+    void quoteAndParseRoundTrip() {
+        String[] values = {
+            "",
+            "plain",
+            "quote \" and backslash \\",
+            "line\nbreak\r\nand\ttab",
+            "control \u0000\u0007\u001f",
+            "separators \u2028\u2029",
+            "unicode \u00e9 \u2713 \ud83d\ude00",
+            "</script>"
+        };
+        for (String value : values) {
+            assertEquals(value, roundTrip(value));
+        }
+    }
+
+    @Test
+    void parseDecodesUnicodeAndShortEscapes() {
+        Map<String, String> values = JsonUtil.parseObject("{\"a\":\"\\u00e9\\u2713\",\"b\":\"\\b\\f\\/\",\"c\":\"\\ud83d\\ude00\"}");
+        assertEquals("\u00e9\u2713", values.get("a"));
+        assertEquals("\b\f/", values.get("b"));
+        assertEquals("\ud83d\ude00", values.get("c"));
+    }
+
+    @Test
+    void parseFlattensNestedObjectsAndKeepsLiterals() {
+        Map<String, String> values = JsonUtil.parseObject(
+                " { \"title\" : \"T\", \"assignee\": {\"id\": 3, \"email\": null}, \"done\": true, \"hours\": -1.5e2 } ");
+        assertEquals("T", values.get("title"));
+        assertEquals("3", values.get("assignee.id"));
+        assertTrue(values.containsKey("assignee.email"));
+        assertNull(values.get("assignee.email"));
+        assertEquals("true", values.get("done"));
+        assertEquals("-1.5e2", values.get("hours"));
+        assertTrue(JsonUtil.parseObject("{}").isEmpty());
+    }
+
+    @Test
+    void parseRejectsMalformedInput() {
+        String[] inputs = {
+            "",
+            "[]",
+            "{\"a\":[1]}",
+            "{\"a\":1",
+            "{\"a\":1} x",
+            "{\"a\" 1}",
+            "{\"a\":\"x}",
+            "{\"a\":\"\\u12\"}",
+            "{\"a\":\"\\u12zz\"}",
+            "{\"a\":bogus}",
+            "{\"a\":1 \"b\":2}"
+        };
+        for (String input : inputs) {
+            assertThrows(IllegalArgumentException.class, () -> JsonUtil.parseObject(input), input);
+        }
+    }
+
+    @Test
+    void quotedValuesStayOnOneLine() {
+        String quoted = JsonUtil.quote("a\nb\rc\u2028d");
+        assertFalse(quoted.contains("\n"));
+        assertFalse(quoted.contains("\r"));
+        assertFalse(quoted.contains("\u2028"));
+    }
+}